@@ -0,0 +1,84 @@
+package io.hhplus.tdd.concurrent;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 처음 보는 사용자가 계속 들어오는 트래픽에서 Lock 전략별 처리량과 남는 Lock 수 / 힙 사용량
+ * - 요청마다 새 userId 를 쓰므로 map 전략은 Lock 이 계속 늘고, striped / ref-counted 는 일정하게 유지되어야 합니다.
+ * - 처리량은 gc profiler 의 할당량과 함께 보고, 반복(iteration)이 끝날 때 liveLocks / retainedBytes 를 기록합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(8)
+public class LockChurnBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ExecutorState {
+
+        @Param({"map", "striped", "ref-counted"})
+        public String strategy;
+
+        final AtomicLong nextUserId = new AtomicLong();
+        final AtomicBoolean recorded = new AtomicBoolean();
+        LockExecutor lockExecutor;
+        long heapBefore;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            lockExecutor = new LockExecutor(LockStrategies.of(strategy));
+            nextUserId.set(0);
+            recorded.set(false);
+            System.gc();
+            heapBefore = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long retainedBytes;
+        public long liveLocks;
+
+        // EVENTS 카운터는 스레드별 값을 합산하므로 한 스레드만 기록합니다.
+        @TearDown(Level.Iteration)
+        public void record(ExecutorState state) {
+            if (!state.recorded.compareAndSet(false, true)) {
+                retainedBytes = 0;
+                liveLocks = 0;
+                return;
+            }
+            System.gc();
+            retainedBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() - state.heapBefore;
+            liveLocks = state.lockExecutor.lockCount();
+        }
+    }
+
+    @Benchmark
+    public long newUserEachCall(ExecutorState state, Footprint footprint) {
+        long userId = state.nextUserId.incrementAndGet();
+        return state.lockExecutor.executeWithUserLock(userId, () -> userId);
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.concurrent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lock 전략별 LockExecutor.executeWithUserLock 처리량/지연시간 (userId 분포별)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class LockExecutorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ExecutorState {
+
+        @Param({"map", "striped", "ref-counted"})
+        public String strategy;
+
+        @Param({"uniform", "hot", "single"})
+        public String distribution;
+
+        @Param({"100000"})
+        public long userCount;
+
+        LockExecutor lockExecutor;
+        UserKeyDistribution keys;
+
+        @Setup
+        public void setUp() {
+            lockExecutor = new LockExecutor(LockStrategies.of(strategy));
+            keys = UserKeyDistribution.of(distribution);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        final SplittableRandom random = new SplittableRandom();
+        long counter;
+    }
+
+    @Benchmark
+    public long executeWithUserLock(ExecutorState state, ThreadState thread) {
+        long userId = state.keys.next(thread.random, state.userCount);
+        return state.lockExecutor.executeWithUserLock(userId, () -> ++thread.counter);
+    }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.concurrent;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lock 전략별로 서로 다른 사용자 N 명을 한 번씩 처리한 뒤 남는 Lock 수와 힙 사용량
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LockFootprintBenchmark {
+
+    @Param({"map", "striped", "ref-counted"})
+    public String strategy;
+
+    @Param({"1000000"})
+    public long userCount;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long retainedBytes;
+        public long liveLocks;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+            liveLocks = 0;
+        }
+    }
+
+    @Benchmark
+    public LockExecutor touchUsers(Footprint footprint) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+
+        LockExecutor lockExecutor = new LockExecutor(LockStrategies.of(strategy));
+        for (long userId = 1; userId <= userCount; userId++) {
+            lockExecutor.executeWithUserLock(userId, () -> null);
+        }
+
+        System.gc();
+        footprint.retainedBytes = memory.getHeapMemoryUsage().getUsed() - before;
+        footprint.liveLocks = lockExecutor.lockCount();
+        return lockExecutor;
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.concurrent;
+
+public final class LockStrategies {
+
+    private LockStrategies() {
+    }
+
+    public static UserLockStrategy of(String name) {
+        return switch (name) {
+            case "map" -> new MapLockStrategy();
+            case "striped" -> new StripedLockStrategy(4096);
+            case "ref-counted" -> new RefCountedLockStrategy();
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 userId 분포
+ * - uniform : 전체 사용자에 고르게 분포
+ * - hot : 요청의 90% 가 상위 1% 사용자에 몰림
+ * - single : 모든 요청이 한 사용자에 몰림
+ */
+public enum UserKeyDistribution {
+    UNIFORM, HOT, SINGLE;
+
+    public long next(SplittableRandom random, long userCount) {
+        return switch (this) {
+            case UNIFORM -> 1 + random.nextLong(userCount);
+            case HOT -> random.nextInt(10) < 9
+                    ? 1 + random.nextLong(Math.max(1, userCount / 100))
+                    : 1 + random.nextLong(userCount);
+            case SINGLE -> 1L;
+        };
+    }
+
+    public static UserKeyDistribution of(String name) {
+        return valueOf(name.toUpperCase());
+    }
+}
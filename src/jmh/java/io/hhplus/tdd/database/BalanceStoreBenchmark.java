@@ -0,0 +1,75 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 수별 잔액 조회/저장 비용 (gc profiler 로 할당량과 GC 시간을 함께 확인)
+ * - boxed : UserPointTable 과 같은 HashMap<Long, UserPoint> 구조
+ * - primitive : PrimitiveUserPointStore
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class BalanceStoreBenchmark {
+
+    @Param({"100000", "10000000"})
+    public int userCount;
+
+    private Map<Long, UserPoint> boxed;
+    private PrimitiveUserPointStore primitive;
+
+    @Setup
+    public void setUp() {
+        boxed = new HashMap<>();
+        primitive = new PrimitiveUserPointStore(64, userCount);
+        for (long id = 1; id <= userCount; id++) {
+            boxed.put(id, new UserPoint(id, id, id));
+            primitive.save(id, id);
+        }
+    }
+
+    @Benchmark
+    public long boxedFind() {
+        return boxed.get(randomId()).point();
+    }
+
+    @Benchmark
+    public long primitiveFind() {
+        return primitive.findPointById(randomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long primitiveConcurrentFind() {
+        return primitive.findPointById(randomId());
+    }
+
+    @Benchmark
+    public UserPoint primitiveSave() {
+        return primitive.save(randomId(), 1_000L);
+    }
+
+    private long randomId() {
+        return 1 + ThreadLocalRandom.current().nextLong(userCount);
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크에서 테이블 지연(throttle)을 제거하기 위한 PointHistoryTable
+ * - 조회는 PointHistoryRepository 의 인덱스로 처리하므로 내역을 따로 보관하지 않습니다.
+ */
+public class NoThrottlePointHistoryTable extends PointHistoryTable {
+
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+    }
+}
@@ -0,0 +1,115 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryAggregate;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointStatistics;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 내역 크기별 사용자 내역 조회 비용
+ * - table : PointHistoryTable.selectAllByUserId (전체 scan)
+ * - repository : PointHistoryRepository.findAllByUserId (사용자별 인덱스)
+ * - columnar : 컬럼 저장소의 사용자별 조회 / 객체를 만들지 않는 합계
+ * - statistics : 저장 시점에 누적된 통계 조회 (내역 수와 무관)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointHistoryTableBenchmark {
+
+    private static final long USER_COUNT = 1_000;
+    // 조건이 없으면 누적 통계로 응답하므로, 저장소 scan 비용을 재기 위해 type 조건을 둡니다.
+    private static final PointHistoryQuery CHARGES = new PointHistoryQuery(0L, Integer.MAX_VALUE, TransactionType.CHARGE, Long.MIN_VALUE, Long.MAX_VALUE);
+
+    @Param({"1000", "100000", "1000000"})
+    public int tableSize;
+
+    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
+    private PointHistoryRepository columnarRepository;
+    private final SplittableRandom random = new SplittableRandom();
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws ReflectiveOperationException {
+        // 실제 테이블의 scan 비용을 재기 위해 throttle 이 있는 insert 대신 내부 목록을 직접 채웁니다.
+        pointHistoryTable = new PointHistoryTable();
+        Field field = PointHistoryTable.class.getDeclaredField("table");
+        field.setAccessible(true);
+        List<PointHistory> rows = (List<PointHistory>) field.get(pointHistoryTable);
+
+        pointHistoryRepository = new PointHistoryRepository(
+                new NoThrottlePointHistoryTable(),
+                new UserRegistry(),
+                new PointHistoryProperties(PointHistoryProperties.WriteBehind.disabled(), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+                new SimpleMeterRegistry()
+        );
+        columnarRepository = new PointHistoryRepository(
+                new NoThrottlePointHistoryTable(),
+                new UserRegistry(),
+                new PointHistoryProperties(
+                        PointHistoryProperties.WriteBehind.disabled(),
+                        PointHistoryProperties.Journal.disabled(),
+                        new PointHistoryProperties.Columnar(true, 8192)
+                ),
+                new SimpleMeterRegistry()
+        );
+        for (int i = 1; i <= tableSize; i++) {
+            long userId = 1 + (i % USER_COUNT);
+            rows.add(new PointHistory(i, userId, 100L, TransactionType.CHARGE, i));
+            pointHistoryRepository.insert(userId, 100L, TransactionType.CHARGE, i);
+            columnarRepository.insert(userId, 100L, TransactionType.CHARGE, i);
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> table() {
+        return pointHistoryTable.selectAllByUserId(1 + random.nextLong(USER_COUNT));
+    }
+
+    @Benchmark
+    public List<PointHistory> repository() {
+        return pointHistoryRepository.findAllByUserId(1 + random.nextLong(USER_COUNT));
+    }
+
+    @Benchmark
+    public List<PointHistory> columnar() {
+        return columnarRepository.findAllByUserId(1 + random.nextLong(USER_COUNT));
+    }
+
+    @Benchmark
+    public PointHistoryAggregate repositoryAggregate() {
+        return pointHistoryRepository.aggregateByUserId(1 + random.nextLong(USER_COUNT), CHARGES);
+    }
+
+    @Benchmark
+    public PointHistoryAggregate columnarAggregate() {
+        return columnarRepository.aggregateByUserId(1 + random.nextLong(USER_COUNT), CHARGES);
+    }
+
+    @Benchmark
+    public PointStatistics statistics() {
+        return pointHistoryRepository.findStatisticsByUserId(1 + random.nextLong(USER_COUNT), null, null);
+    }
+}
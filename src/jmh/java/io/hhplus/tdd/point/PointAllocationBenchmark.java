@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미 Lock / 잔액 / 내역 인덱스가 있는 사용자에 대한 충전/사용 1 회당 할당량
+ * - gc profiler 의 gc.alloc.rate.norm(B/op) 을 봅니다. (./gradlew jmh -Pjmh.includes=PointAllocation)
+ * - chargeThenUse : 응답 UserPoint 와 저장되는 PointHistory 외에는 할당이 없어야 합니다.
+ * - rejectedCharge / rejectedUse : 검증 실패는 미리 만든 예외를 던지므로 할당이 없어야 합니다.
+ * - 단일 스레드로 측정해 경합 없이 경로 자체의 할당만 봅니다.
+ * - asyncChargeThenUse : 운영과 같은 ArrayBlockingQueue 기반 스레드 풀에서 비동기 API 를 실행합니다.
+ *   응답 future / UserPoint / PointHistory 외에는 할당이 없어야 합니다. (gc profiler 는 모든 스레드의 할당을 합산합니다.)
+ *   완료를 join 으로 기다리면 대기 노드가 할당되므로 isDone 을 확인하며 기다립니다.
+ *   (일이 없는 worker 가 큐에서 park 할 때 AQS 가 만드는 대기 노드는 스레드 풀 자체의 할당입니다.)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PointAllocationBenchmark {
+
+    private static final long MAXIMUM_POINT = PointPolicy.MAXIMUM_POINT.getAmount();
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+
+        @Param({"map", "striped"})
+        public String strategy;
+
+        @Param({"1024"})
+        public int userCount;
+
+        PointServiceFixture fixture;
+        long next;
+
+        @Setup
+        public void setUp() {
+            fixture = new PointServiceFixture(LockStrategies.of(strategy), "lock");
+            fixture.registerUsers(userCount);
+            // Lock / 잔액 캐시 / 내역 인덱스를 미리 만들어 측정 구간에는 steady-state 경로만 남깁니다.
+            for (long userId = 1; userId <= userCount; userId++) {
+                fixture.pointService.chargeUserPoint(userId, 10L);
+            }
+        }
+
+        long nextUserId() {
+            next = next == userCount ? 1 : next + 1;
+            return next;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class AsyncServiceState {
+
+        @Param({"1024"})
+        public int userCount;
+
+        ThreadPoolExecutor asyncExecutor;
+        PointServiceFixture fixture;
+        long next;
+
+        @Setup
+        public void setUp() {
+            asyncExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024));
+            fixture = new PointServiceFixture(LockStrategies.of("map"), "lock", asyncExecutor);
+            fixture.registerUsers(userCount);
+            for (long userId = 1; userId <= userCount; userId++) {
+                fixture.pointService.chargeUserPointAsync(userId, 10L).join();
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            asyncExecutor.shutdown();
+        }
+
+        long nextUserId() {
+            next = next == userCount ? 1 : next + 1;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public UserPoint asyncChargeThenUse(AsyncServiceState state) {
+        long userId = state.nextUserId();
+        awaitDone(state.fixture.pointService.chargeUserPointAsync(userId, 10L));
+        return awaitDone(state.fixture.pointService.usePointAsync(userId, 10L));
+    }
+
+    private static UserPoint awaitDone(CompletableFuture<UserPoint> future) {
+        while (!future.isDone()) {
+            Thread.onSpinWait();
+        }
+        return future.join();
+    }
+
+    @Benchmark
+    public UserPoint chargeThenUse(ServiceState state) {
+        long userId = state.nextUserId();
+        state.fixture.pointService.chargeUserPoint(userId, 10L);
+        return state.fixture.pointService.usePoint(userId, 10L);
+    }
+
+    @Benchmark
+    public boolean rejectedCharge(ServiceState state) {
+        try {
+            state.fixture.pointService.chargeUserPoint(state.nextUserId(), MAXIMUM_POINT + 1);
+            return false;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    @Benchmark
+    public boolean rejectedUse(ServiceState state) {
+        try {
+            // 금액 검증은 통과하고 Lock 안의 잔액 검증에서 거절됩니다.
+            state.fixture.pointService.usePoint(state.nextUserId(), MAXIMUM_POINT);
+            return false;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거절되는 요청의 처리량 (./gradlew jmh -Pjmh.includes=PointRejection)
+ * - userNotFound / limitExceeded / insufficientPoint : 미리 만든 PointException 을 던지는 현재 경로
+ * - stackTraceBaseline : 이전처럼 거절마다 new RuntimeException 을 만드는 비용
+ *   (stackDepth 만큼 호출을 쌓은 뒤 던져, 웹 요청 스레드의 깊은 stack 에서 fillInStackTrace 하는 상황을 흉내냅니다.)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class PointRejectionBenchmark {
+
+    private static final long MAXIMUM_POINT = PointPolicy.MAXIMUM_POINT.getAmount();
+    private static final long REGISTERED_USER_ID = 1L;
+    private static final long UNKNOWN_USER_ID = Long.MAX_VALUE;
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+
+        @Param({"16", "128"})
+        public int stackDepth;
+
+        PointServiceFixture fixture;
+
+        @Setup
+        public void setUp() {
+            fixture = new PointServiceFixture(LockStrategies.of("map"), "lock");
+            fixture.pointHistoryRepository.insert(REGISTERED_USER_ID, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        }
+    }
+
+    @Benchmark
+    public String userNotFound(ServiceState state) {
+        return rejectAt(state.stackDepth, () -> state.fixture.pointService.chargeUserPoint(UNKNOWN_USER_ID, 10L));
+    }
+
+    @Benchmark
+    public String limitExceeded(ServiceState state) {
+        return rejectAt(state.stackDepth, () -> state.fixture.pointService.chargeUserPoint(REGISTERED_USER_ID, MAXIMUM_POINT + 1));
+    }
+
+    @Benchmark
+    public String insufficientPoint(ServiceState state) {
+        return rejectAt(state.stackDepth, () -> state.fixture.pointService.usePoint(REGISTERED_USER_ID, MAXIMUM_POINT));
+    }
+
+    @Benchmark
+    public String stackTraceBaseline(ServiceState state) {
+        return rejectAt(state.stackDepth, () -> {
+            throw new RuntimeException(PointErrorCode.USER_NOT_FOUND.getMessage());
+        });
+    }
+
+    private static String rejectAt(int depth, Runnable request) {
+        try {
+            call(depth, request);
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static void call(int depth, Runnable request) {
+        if (depth == 0) {
+            request.run();
+            return;
+        }
+        call(depth - 1, request);
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockStrategies;
+import io.hhplus.tdd.concurrent.UserKeyDistribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테이블 지연을 제거한 상태에서 chargeUserPoint / usePoint 의 end-to-end 비용
+ * - 충전과 사용을 번갈아 호출해 잔액이 최대값/0 에 닿지 않도록 유지합니다.
+ * - distribution 으로 경합 수준을 바꿉니다. (uniform : 거의 없음 / hot : 상위 1% 에 몰림 / single : 한 사용자)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// 내역 인덱스가 측정 동안 계속 쌓이므로 힙을 넉넉히 잡습니다.
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(8)
+public class PointServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+
+        @Param({"lock", "combining", "adaptive", "striped", "optimistic", "sharded"})
+        public String engine;
+
+        @Param({"map"})
+        public String strategy;
+
+        @Param({"uniform", "hot", "single"})
+        public String distribution;
+
+        @Param({"10000"})
+        public long userCount;
+
+        PointServiceFixture fixture;
+        UserKeyDistribution keys;
+
+        @Setup
+        public void setUp() {
+            fixture = new PointServiceFixture(LockStrategies.of(strategy), engine);
+            fixture.registerUsers(userCount);
+            keys = UserKeyDistribution.of(distribution);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public UserPoint chargeThenUse(ServiceState state, ThreadState thread) {
+        long userId = state.keys.next(thread.random, state.userCount);
+        state.fixture.pointService.chargeUserPoint(userId, 10L);
+        return state.fixture.pointService.usePoint(userId, 10L);
+    }
+}
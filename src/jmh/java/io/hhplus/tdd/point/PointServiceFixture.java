@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.AsyncUserExecutor;
+import io.hhplus.tdd.concurrent.IdempotencyCache;
+import io.hhplus.tdd.concurrent.IdempotencyProperties;
+import io.hhplus.tdd.concurrent.LockExecutor;
+import io.hhplus.tdd.concurrent.UserLockStrategy;
+import io.hhplus.tdd.database.BalanceCacheProperties;
+import io.hhplus.tdd.database.BalanceStoreProperties;
+import io.hhplus.tdd.database.NoThrottlePointHistoryTable;
+import io.hhplus.tdd.database.NoThrottleUserPointTable;
+import io.hhplus.tdd.database.PointHistoryProperties;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * 테이블 지연을 제거한 PointService 구성 (Spring 컨텍스트 없이 조립)
+ */
+public class PointServiceFixture {
+
+    public final UserRegistry userRegistry = new UserRegistry();
+    public final PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(
+            new NoThrottlePointHistoryTable(),
+            userRegistry,
+            new PointHistoryProperties(PointHistoryProperties.WriteBehind.disabled(), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+            new SimpleMeterRegistry()
+    );
+    public final UserPointRepository userPointRepository = new UserPointRepository(
+            new NoThrottleUserPointTable(),
+            new BalanceCacheProperties(true, 1_000_000),
+            BalanceStoreProperties.table(),
+            new SimpleMeterRegistry()
+    );
+    public final PointValidator pointValidator = new PointValidator();
+    public final HotAccountDetector hotAccountDetector = new HotAccountDetector(new HotAccountProperties(true, 1_000, 1_000, 32, 4_096));
+    public final LockExecutor lockExecutor;
+    public final PointEngine pointEngine;
+    public final PointService pointService;
+
+    public PointServiceFixture(UserLockStrategy lockStrategy, String engine) {
+        this(lockStrategy, engine, Runnable::run);
+    }
+
+    // asyncExecutor : 비동기 API 를 실행할 스레드 (Runnable::run 이면 호출 스레드에서 바로 실행)
+    public PointServiceFixture(UserLockStrategy lockStrategy, String engine, Executor asyncExecutor) {
+        this.lockExecutor = new LockExecutor(lockStrategy);
+        this.pointEngine = switch (engine) {
+            case "lock" -> new LockingPointEngine(pointHistoryRepository, userPointRepository, lockExecutor, pointValidator, userRegistry);
+            case "combining" -> new CombiningPointEngine(pointHistoryRepository, userPointRepository, lockExecutor, pointValidator, userRegistry);
+            case "optimistic" -> new OptimisticPointEngine(
+                    pointHistoryRepository, userPointRepository, lockExecutor, pointValidator, userRegistry,
+                    new OptimisticProperties(4, 1, 256, 1_000), new SimpleMeterRegistry()
+            );
+            case "adaptive" -> new AdaptivePointEngine(
+                    pointHistoryRepository, userPointRepository, lockExecutor, pointValidator, userRegistry, hotAccountDetector
+            );
+            case "striped" -> new StripedPointEngine(
+                    pointHistoryRepository, userPointRepository, lockExecutor, pointValidator, userRegistry, hotAccountDetector,
+                    new StripedBalanceProperties(8, Set.of(), true, 0L)
+            );
+            case "sharded" -> new ShardedPointEngine(
+                    pointHistoryRepository, userPointRepository, pointValidator, userRegistry, new ShardedProperties(0, 64)
+            );
+            default -> throw new IllegalArgumentException(engine);
+        };
+        this.pointService = new PointService(
+                pointHistoryRepository, userPointRepository, pointValidator, userRegistry, pointEngine, new AsyncUserExecutor(asyncExecutor),
+                new IdempotencyCache(new IdempotencyProperties(1_000, 60_000)), hotAccountDetector
+        );
+    }
+
+    public void registerUsers(long userCount) {
+        for (long userId = 1; userId <= userCount; userId++) {
+            userRegistry.register(userId);
+        }
+    }
+}
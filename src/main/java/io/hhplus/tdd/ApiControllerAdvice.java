@@ -1,5 +1,8 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.concurrent.LockRejectedException;
+import io.hhplus.tdd.point.PointErrorCode;
+import io.hhplus.tdd.point.PointException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +27,19 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(400).body(new ErrorResponse("400", errorMessage.toString()));
     }
 
+    // 사용자 Lock 대기열이 가득 찼거나 대기 시간을 넘긴 요청 (실행되지 않았으므로 다시 시도해도 안전)
+    @ExceptionHandler(value = LockRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleLockRejectedException(LockRejectedException e) {
+        return ResponseEntity.status(429).body(new ErrorResponse("429", e.getMessage()));
+    }
+
+    // 업무 오류는 코드별로 미리 만든 응답을 그대로 사용합니다.
+    @ExceptionHandler(value = PointException.class)
+    public ResponseEntity<ErrorResponse> handlePointException(PointException e) {
+        PointErrorCode errorCode = e.getErrorCode();
+        return ResponseEntity.status(errorCode.getStatus()).body(errorCode.getErrorResponse());
+    }
+
     @ExceptionHandler(value = RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException e) {
         return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.concurrent;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 비동기 API 실행 스레드 설정
+ * - pool-size : 플랫폼 스레드 수 (테이블 호출이 스레드를 막고 기다리므로 CPU 코어 수가 아니라 동시에 처리할 요청 수로 정합니다.)
+ * - virtual-pool-size : spring.threads.virtual.enabled 일 때 동시에 실행할 최대 가상 스레드 수
+ * - queue-capacity : 모든 스레드가 사용 중일 때 기다릴 수 있는 작업 수 (넘으면 기다리지 않고 503 으로 거절)
+ */
+@ConfigurationProperties(prefix = "point.async")
+public record AsyncExecutorProperties(
+        @DefaultValue("200") int poolSize,
+        @DefaultValue("10000") int virtualPoolSize,
+        @DefaultValue("1000") int queueCapacity
+) {
+}
@@ -0,0 +1,374 @@
+package io.hhplus.tdd.concurrent;
+
+import io.hhplus.tdd.point.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * userId 별 작업을 순서대로 비동기 실행합니다.
+ * - 사용자마다 대기열을 두고, 앞선 작업이 끝나면 다음 작업을 실행 스레드에 넘깁니다.
+ * - 앞선 작업을 기다리는 동안에는 스레드를 점유하지 않습니다.
+ * - 작업은 테이블 호출로 스레드를 막고 기다리므로, applicationTaskExecutor(코어 8 개, 무제한 큐) 대신
+ *   point.async 설정으로 만든 전용 bounded 스레드 풀에서 실행합니다. (가상 스레드 설정 시 가상 스레드)
+ * - 스레드와 대기열이 모두 차면 작업을 실행하지 않고 ServerBusyException 으로 실패한 future 를 반환합니다.
+ * - 사용자 대기열에 이미 point.lock.max-queue-depth 만큼 기다리고 있으면 대기열에 넣지 않고 LockRejectedException(QUEUE_FULL) 으로,
+ *   point.lock.timeout-millis 를 넘겨 기다린 작업은 실행하지 않고 LockRejectedException(TIMEOUT) 으로 실패시킵니다.
+ *   (기한은 작업 차례가 왔을 때 확인하므로, 기한을 넘긴 요청은 그 시점에 실행 중이던 작업 하나가 끝나는 대로 응답합니다.)
+ * - 대기열 작업 객체가 곧 호출자에게 돌려주는 future 이고, 사용자 대기열은 bucket lock 별로 재사용하므로
+ *   UserLockTask 를 필드에 두고 submit 하면 요청마다 future 외의 할당(boxing, 람다, 완료 단계)이 없습니다.
+ */
+@Component
+public class AsyncUserExecutor {
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+    private static final int BUCKETS = 4096;
+    private static final int LOCKS = 64;
+    private static final int MAX_SPARE_QUEUES = 16;
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final long timeoutNanos;
+    private final int maxQueueDepth;
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+    // 작업이 남아 있는 사용자의 대기열만 둡니다. (bucket 별 chain, lock 은 bucket 을 나눠 가집니다.)
+    private final UserQueue[] buckets = new UserQueue[BUCKETS];
+    private final ReentrantLock[] locks = new ReentrantLock[LOCKS];
+    // 비워진 사용자 대기열을 lock 별로 몇 개씩 남겨 두고 재사용합니다. (nextInBucket 으로 연결)
+    private final UserQueue[] spareQueues = new UserQueue[LOCKS];
+    private final int[] spareCounts = new int[LOCKS];
+    private final AtomicInteger activeUsers = new AtomicInteger();
+
+    @Autowired
+    public AsyncUserExecutor(AsyncExecutorProperties properties, LockProperties lockProperties, Environment environment, MeterRegistry meterRegistry) {
+        this(
+                createExecutor(properties, Threading.VIRTUAL.isActive(environment)), true,
+                lockProperties.timeoutMillis(), lockProperties.maxQueueDepth(), meterRegistry
+        );
+    }
+
+    public AsyncUserExecutor(Executor executor) {
+        // 등록된 registry 가 없는 composite 는 기록을 하지 않습니다.
+        this(executor, 0L, 0, new CompositeMeterRegistry());
+    }
+
+    public AsyncUserExecutor(Executor executor, long timeoutMillis, int maxQueueDepth, MeterRegistry meterRegistry) {
+        this(executor, false, timeoutMillis, maxQueueDepth, meterRegistry);
+    }
+
+    private AsyncUserExecutor(Executor executor, boolean owned, long timeoutMillis, int maxQueueDepth, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.maxQueueDepth = maxQueueDepth;
+        this.queueFullRejections = rejectionCounter(meterRegistry, "queue_full");
+        this.timeoutRejections = rejectionCounter(meterRegistry, "timeout");
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> task) {
+        return enqueue(new SupplierTask<>(userId, task));
+    }
+
+    /**
+     * userId 와 argument 를 task 에 그대로 전달합니다.
+     * - task 를 필드에 두고 재사용하면 값을 캡처하는 람다를 요청마다 만들지 않습니다.
+     */
+    public <T> CompletableFuture<T> submit(long userId, long argument, UserLockTask<T> task) {
+        return enqueue(new ArgumentTask<>(userId, argument, task));
+    }
+
+    // 순서 보장이 필요 없는 작업
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(ServerBusyException.INSTANCE);
+        }
+    }
+
+    public int pendingUserCount() {
+        return activeUsers.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<T> enqueue(QueuedTask<T> task) {
+        int bucket = bucketOf(task.userId);
+        int lockIndex = bucket & (LOCKS - 1);
+        ReentrantLock lock = locks[lockIndex];
+        boolean first;
+        lock.lock();
+        try {
+            UserQueue queue = find(bucket, task.userId);
+            if (queue == null) {
+                queue = obtainQueue(lockIndex, task.userId, buckets[bucket]);
+                buckets[bucket] = queue;
+                activeUsers.incrementAndGet();
+            } else if (maxQueueDepth > 0 && queue.depth > maxQueueDepth) {
+                // depth 에는 실행 중인 작업 하나가 포함되어 있습니다.
+                queueFullRejections.increment();
+                task.completeExceptionally(new LockRejectedException(LockRejectedException.Reason.QUEUE_FULL));
+                return task;
+            }
+            first = queue.append(task);
+        } finally {
+            lock.unlock();
+        }
+        if (first) {
+            dispatch(task);
+        }
+        return task;
+    }
+
+    // 거절된 작업은 실행되지 않았으므로, 뒤에 이어진 작업은 바로 이어서 넘깁니다.
+    private void dispatch(QueuedTask<?> task) {
+        while (task != null) {
+            try {
+                executor.execute(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                QueuedTask<?> following = advance(task);
+                task.completeExceptionally(ServerBusyException.INSTANCE);
+                task = following;
+            }
+        }
+    }
+
+    // 끝난 작업을 대기열에서 빼고 다음 작업을 반환합니다. 남은 작업이 없으면 대기열을 제거합니다.
+    private QueuedTask<?> advance(QueuedTask<?> finished) {
+        int bucket = bucketOf(finished.userId);
+        int lockIndex = bucket & (LOCKS - 1);
+        ReentrantLock lock = locks[lockIndex];
+        lock.lock();
+        try {
+            UserQueue queue = find(bucket, finished.userId);
+            QueuedTask<?> next = queue.removeHead();
+            if (next == null) {
+                unlink(bucket, queue);
+                recycleQueue(lockIndex, queue);
+                activeUsers.decrementAndGet();
+            }
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserQueue find(int bucket, long userId) {
+        for (UserQueue queue = buckets[bucket]; queue != null; queue = queue.nextInBucket) {
+            if (queue.userId == userId) {
+                return queue;
+            }
+        }
+        return null;
+    }
+
+    private void unlink(int bucket, UserQueue target) {
+        if (buckets[bucket] == target) {
+            buckets[bucket] = target.nextInBucket;
+            return;
+        }
+        for (UserQueue queue = buckets[bucket]; queue.nextInBucket != null; queue = queue.nextInBucket) {
+            if (queue.nextInBucket == target) {
+                queue.nextInBucket = target.nextInBucket;
+                return;
+            }
+        }
+    }
+
+    // 아래 두 메서드는 lockIndex 의 lock 안에서만 호출합니다.
+    private UserQueue obtainQueue(int lockIndex, long userId, UserQueue nextInBucket) {
+        UserQueue queue = spareQueues[lockIndex];
+        if (queue == null) {
+            return new UserQueue(userId, nextInBucket);
+        }
+        spareQueues[lockIndex] = queue.nextInBucket;
+        spareCounts[lockIndex]--;
+        queue.userId = userId;
+        queue.nextInBucket = nextInBucket;
+        return queue;
+    }
+
+    private void recycleQueue(int lockIndex, UserQueue queue) {
+        if (spareCounts[lockIndex] >= MAX_SPARE_QUEUES) {
+            return;
+        }
+        queue.nextInBucket = spareQueues[lockIndex];
+        spareQueues[lockIndex] = queue;
+        spareCounts[lockIndex]++;
+    }
+
+    // ConcurrentLongSet 과 같은 murmur3 finalizer
+    private static int bucketOf(long userId) {
+        long h = userId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & (BUCKETS - 1);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("point.lock.rejections")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static ExecutorService createExecutor(AsyncExecutorProperties properties, boolean virtualThreads) {
+        int poolSize = virtualThreads ? properties.virtualPoolSize() : properties.poolSize();
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("point-async-", 0).factory()
+                : Thread.ofPlatform().name("point-async-", 0).factory();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        // 요청이 없을 때는 스레드를 반납합니다.
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    // bucket lock 안에서만 읽고 씁니다.
+    private static final class UserQueue {
+
+        private long userId;
+        private UserQueue nextInBucket;
+        private QueuedTask<?> head;
+        private QueuedTask<?> tail;
+        private int depth;
+
+        UserQueue(long userId, UserQueue nextInBucket) {
+            this.userId = userId;
+            this.nextInBucket = nextInBucket;
+        }
+
+        // 바로 실행할 첫 작업이면 true
+        boolean append(QueuedTask<?> task) {
+            depth++;
+            if (tail == null) {
+                head = task;
+                tail = task;
+                return true;
+            }
+            tail.next = task;
+            tail = task;
+            return false;
+        }
+
+        QueuedTask<?> removeHead() {
+            depth--;
+            QueuedTask<?> next = head.next;
+            head.next = null;
+            head = next;
+            if (next == null) {
+                tail = null;
+            }
+            return next;
+        }
+    }
+
+    /**
+     * 대기열에 들어가는 작업이자 호출자에게 돌려주는 future
+     * - 차례가 오면 실행 스레드에서 run 이 호출되고, 끝나면 같은 사용자의 다음 작업을 넘깁니다.
+     */
+    private abstract class QueuedTask<T> extends CompletableFuture<T> implements Runnable {
+
+        private final long userId;
+        private final long enqueuedNanos = System.nanoTime();
+        private QueuedTask<?> next;
+
+        QueuedTask(long userId) {
+            this.userId = userId;
+        }
+
+        abstract T call();
+
+        // 대기열에서 먼저 빼고 완료하므로, 완료를 본 호출자는 대기열이 정리된 상태를 봅니다.
+        @Override
+        public void run() {
+            T result = null;
+            Throwable failure = null;
+            try {
+                if (timeoutNanos > 0 && System.nanoTime() - enqueuedNanos > timeoutNanos) {
+                    timeoutRejections.increment();
+                    failure = new LockRejectedException(LockRejectedException.Reason.TIMEOUT);
+                } else {
+                    result = call();
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+            QueuedTask<?> following = advance(this);
+            if (failure == null) {
+                complete(result);
+            } else {
+                completeExceptionally(failure);
+            }
+            if (following != null) {
+                dispatch(following);
+            }
+        }
+    }
+
+    private final class SupplierTask<T> extends QueuedTask<T> {
+
+        private final Supplier<T> task;
+
+        SupplierTask(long userId, Supplier<T> task) {
+            super(userId);
+            this.task = task;
+        }
+
+        @Override
+        T call() {
+            return task.get();
+        }
+    }
+
+    private final class ArgumentTask<T> extends QueuedTask<T> {
+
+        private final long argument;
+        private final UserLockTask<T> task;
+
+        ArgumentTask(long userId, long argument, UserLockTask<T> task) {
+            super(userId);
+            this.argument = argument;
+            this.task = task;
+        }
+
+        @Override
+        T call() {
+            return task.execute(super.userId, argument);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * boxing 없이 long key 로 값을 찾는 insert-only 동시성 Map
+ * - ConcurrentLongSet 과 같은 세그먼트별 open addressing(linear probing) 테이블에 값 배열을 나란히 둡니다.
+ * - get 은 lock 없이 동작하고, 값 추가는 세그먼트 단위 lock 으로 직렬화합니다.
+ * - 이미 있는 key 의 조회는 Long / 람다를 만들지 않으므로, 요청마다 호출되는 경로에서 할당이 없습니다.
+ * - 0 은 빈 슬롯 표시로 사용하므로 별도 칸에 저장합니다.
+ */
+public class ConcurrentLongMap<V> {
+
+    private static final long EMPTY = 0L;
+    private static final int DEFAULT_SEGMENTS = 64;
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+    private final ReentrantLock emptyKeyLock = new ReentrantLock();
+    private volatile V emptyKeyValue;
+
+    public ConcurrentLongMap() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongMap(int segmentCount) {
+        int count = Integer.highestOneBit(Math.max(1, segmentCount - 1) << 1);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>();
+        }
+        this.segmentMask = count - 1;
+    }
+
+    public V get(long key) {
+        if (key == EMPTY) {
+            return emptyKeyValue;
+        }
+        long hash = mix(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * key 의 값이 없을 때만 factory 로 만들어 저장합니다. (factory 는 key 당 한 번만 호출됩니다.)
+     * - 호출마다 람다를 만들지 않도록 factory 는 필드에 두고 재사용합니다.
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> factory) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        if (key == EMPTY) {
+            return computeEmptyKey(factory);
+        }
+        long hash = mix(key);
+        return segmentFor(hash).computeIfAbsent(key, hash, factory);
+    }
+
+    public long size() {
+        long size = emptyKeyValue == null ? 0 : 1;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private V computeEmptyKey(LongFunction<? extends V> factory) {
+        emptyKeyLock.lock();
+        try {
+            if (emptyKeyValue == null) {
+                emptyKeyValue = factory.apply(EMPTY);
+            }
+            return emptyKeyValue;
+        } finally {
+            emptyKeyLock.unlock();
+        }
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) (hash >>> 32) & segmentMask];
+    }
+
+    // ConcurrentLongSet 과 같은 murmur3 finalizer
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Segment<V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Table<V> table = new Table<>(INITIAL_SEGMENT_CAPACITY);
+        private volatile int size;
+
+        V get(long key, long hash) {
+            Table<V> current = table;
+            int mask = current.keys.length() - 1;
+            for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+                long slot = current.keys.get(i);
+                if (slot == key) {
+                    return current.values.get(i);
+                }
+                if (slot == EMPTY) {
+                    return null;
+                }
+            }
+        }
+
+        V computeIfAbsent(long key, long hash, LongFunction<? extends V> factory) {
+            lock.lock();
+            try {
+                V value = get(key, hash);
+                if (value != null) {
+                    return value;
+                }
+                Table<V> current = table;
+                if ((size + 1) << 1 > current.keys.length()) {
+                    current = resize(current);
+                }
+                value = factory.apply(key);
+                current.insert(key, hash, value);
+                size = size + 1;
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 새 테이블을 모두 채운 뒤 publish 하므로 읽기 스레드는 항상 완성된 테이블만 봅니다.
+        private Table<V> resize(Table<V> current) {
+            Table<V> resized = new Table<>(current.keys.length() << 1);
+            for (int i = 0; i < current.keys.length(); i++) {
+                long slot = current.keys.get(i);
+                if (slot != EMPTY) {
+                    resized.insert(slot, mix(slot), current.values.get(i));
+                }
+            }
+            table = resized;
+            return resized;
+        }
+    }
+
+    private static final class Table<V> {
+
+        private final AtomicLongArray keys;
+        private final AtomicReferenceArray<V> values;
+
+        Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicReferenceArray<>(capacity);
+        }
+
+        // 값을 먼저 쓰고 key 를 쓰므로, key 를 본 읽기 스레드는 항상 값도 봅니다.
+        void insert(long key, long hash, V value) {
+            int mask = keys.length() - 1;
+            int i = (int) hash & mask;
+            while (keys.get(i) != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            values.set(i, value);
+            keys.set(i, key);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * boxing 없이 long 값을 저장하는 insert-only 동시성 Set
+ * - 세그먼트별 open addressing(linear probing) 테이블을 사용합니다.
+ * - contains 는 lock 없이 동작하고, add 는 세그먼트 단위 lock 으로 직렬화합니다.
+ * - 0 은 빈 슬롯 표시로 사용하므로 테이블 대신 별도 flag 로 저장합니다.
+ */
+public class ConcurrentLongSet {
+
+    private static final long EMPTY = 0L;
+    private static final int DEFAULT_SEGMENTS = 64;
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final AtomicBoolean containsEmptyValue = new AtomicBoolean();
+
+    public ConcurrentLongSet() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    public ConcurrentLongSet(int segmentCount) {
+        int count = Integer.highestOneBit(Math.max(1, segmentCount - 1) << 1);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+        this.segmentMask = count - 1;
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            return containsEmptyValue.compareAndSet(false, true);
+        }
+        long hash = mix(value);
+        return segments[(int) (hash >>> 32) & segmentMask].add(value, hash);
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmptyValue.get();
+        }
+        long hash = mix(value);
+        return segments[(int) (hash >>> 32) & segmentMask].contains(value, hash);
+    }
+
+    public long size() {
+        long size = containsEmptyValue.get() ? 1 : 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    // murmur3 finalizer
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile AtomicLongArray table = new AtomicLongArray(INITIAL_SEGMENT_CAPACITY);
+        private volatile int size;
+
+        boolean contains(long value, long hash) {
+            AtomicLongArray current = table;
+            int mask = current.length() - 1;
+            for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+                long slot = current.get(i);
+                if (slot == value) {
+                    return true;
+                }
+                if (slot == EMPTY) {
+                    return false;
+                }
+            }
+        }
+
+        boolean add(long value, long hash) {
+            if (contains(value, hash)) {
+                return false;
+            }
+            lock.lock();
+            try {
+                AtomicLongArray current = table;
+                if ((size + 1) << 1 > current.length()) {
+                    current = resize(current);
+                }
+                if (!insert(current, value, hash)) {
+                    return false;
+                }
+                size = size + 1;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 새 테이블을 모두 채운 뒤 publish 하므로 읽기 스레드는 항상 완성된 테이블만 봅니다.
+        private AtomicLongArray resize(AtomicLongArray current) {
+            AtomicLongArray resized = new AtomicLongArray(current.length() << 1);
+            for (int i = 0; i < current.length(); i++) {
+                long slot = current.get(i);
+                if (slot != EMPTY) {
+                    insert(resized, slot, mix(slot));
+                }
+            }
+            table = resized;
+            return resized;
+        }
+
+        private static boolean insert(AtomicLongArray target, long value, long hash) {
+            int mask = target.length() - 1;
+            for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+                long slot = target.get(i);
+                if (slot == value) {
+                    return false;
+                }
+                if (slot == EMPTY) {
+                    target.set(i, value);
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long 키의 빈도를 고정 크기 메모리로 추정하는 count-min sketch
+ * - 행(DEPTH)마다 다른 hash 로 칸 하나씩 증가시키고, 추정치는 그중 최솟값입니다. (실제보다 작게 추정하지 않음)
+ * - halve 로 모든 칸을 절반으로 줄여 오래된 빈도가 점점 사라지게 합니다. (halve 와 동시에 증가한 값은 일부 유실될 수 있음)
+ */
+public class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final AtomicLongArray counters;
+    private final int width;
+    private final int mask;
+
+    public FrequencySketch(int width) {
+        this.width = Integer.highestOneBit(Math.max(1, width - 1) << 1);
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(DEPTH * this.width);
+    }
+
+    /**
+     * key 의 빈도를 1 증가시키고 증가 후 추정치를 반환합니다.
+     */
+    public long increment(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(indexOf(key, row)));
+        }
+        return estimate;
+    }
+
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(key, row)));
+        }
+        return estimate;
+    }
+
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+    }
+
+    private int indexOf(long key, int row) {
+        long h = key * SEEDS[row];
+        h ^= h >>> 32;
+        return row * width + ((int) h & mask);
+    }
+}
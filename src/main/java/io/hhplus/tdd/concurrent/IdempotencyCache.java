@@ -0,0 +1,191 @@
+package io.hhplus.tdd.concurrent;
+
+import io.hhplus.tdd.point.IdempotencyKeyReusedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * (userId, Idempotency-Key) 별 요청 결과를 기억해 재시도가 두 번 반영되지 않게 합니다.
+ * - 실행 중인 요청의 future 도 기억하므로, 동시에 들어온 중복 요청은 다시 실행하지 않고 같은 결과를 기다립니다.
+ * - 완료된 결과는 ttl 동안 유지하고, 세그먼트별 LRU 로 크기를 제한합니다.
+ * - 실행 중인 요청은 LRU 와 별도로 두어 제거되지 않습니다. (제거되면 중복 요청이 다시 실행됩니다.)
+ *   실행 중인 요청 수는 비동기 실행 대기열 크기로 제한되므로 maximum-size 를 잠시 넘을 수 있습니다.
+ * - 실패한 요청은 상태를 바꾸지 않았으므로 기억하지 않습니다. (같은 key 로 재시도하면 다시 실행)
+ * - 같은 key 로 다른 요청(작업 / 금액)을 보내면 실행하지 않고 IdempotencyKeyReusedException(422)으로 거절합니다.
+ */
+@Component
+public class IdempotencyCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final long ttlNanos;
+    private final Counter replays;
+
+    public IdempotencyCache(IdempotencyProperties properties) {
+        // 등록된 registry 가 없는 composite 는 기록을 하지 않습니다.
+        this(properties, new CompositeMeterRegistry());
+    }
+
+    @Autowired
+    public IdempotencyCache(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        int segmentCapacity = Math.max(1, properties.maximumSize() / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(properties.ttlMillis());
+        this.replays = Counter.builder("point.idempotency.replays").register(meterRegistry);
+        Gauge.builder("point.idempotency.size", this, IdempotencyCache::size).register(meterRegistry);
+    }
+
+    /**
+     * 같은 (userId, key) 로 기억된 결과가 있으면 그 결과를, 없으면 action 을 실행한 결과를 반환합니다.
+     * - request : 같은 key 로 같은 요청을 보냈는지 확인하는 값 (예: "charge:100")
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(long userId, String key, String request, Supplier<CompletableFuture<T>> action) {
+        Key cacheKey = new Key(userId, key);
+        Segment segment = segmentFor(cacheKey);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Entry entry = new Entry(request, result);
+        Entry previous = segment.putIfAbsent(cacheKey, entry, System.nanoTime());
+        if (previous != null) {
+            if (!previous.request.equals(request)) {
+                return CompletableFuture.failedFuture(IdempotencyKeyReusedException.INSTANCE);
+            }
+            replays.increment();
+            return (CompletableFuture<T>) previous.result;
+        }
+
+        CompletableFuture<T> executed;
+        try {
+            executed = action.get();
+        } catch (RuntimeException e) {
+            executed = CompletableFuture.failedFuture(e);
+        }
+        executed.whenComplete((value, error) -> {
+            if (error != null) {
+                segment.remove(cacheKey, entry);
+                result.completeExceptionally(error);
+            } else {
+                segment.complete(cacheKey, entry, System.nanoTime());
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(Key key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private record Key(long userId, String key) {
+    }
+
+    private static final class Entry {
+
+        private final String request;
+        private final CompletableFuture<?> result;
+        // Segment lock 안에서만 읽고 씁니다.
+        private long completedNanos;
+
+        Entry(String request, CompletableFuture<?> result) {
+            this.request = request;
+            this.result = result;
+        }
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final HashMap<Key, Entry> inFlight = new HashMap<>();
+        private final LinkedHashMap<Key, Entry> completed;
+
+        Segment(int capacity) {
+            this.completed = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        /**
+         * 만료되지 않은 기존 항목이 있으면 그것을, 없으면 entry 를 저장하고 null 을 반환합니다.
+         */
+        Entry putIfAbsent(Key key, Entry entry, long nowNanos) {
+            lock.lock();
+            try {
+                Entry running = inFlight.get(key);
+                if (running != null) {
+                    return running;
+                }
+                Entry previous = completed.get(key);
+                if (previous != null) {
+                    if (nowNanos - previous.completedNanos <= ttlNanos) {
+                        return previous;
+                    }
+                    completed.remove(key);
+                }
+                inFlight.put(key, entry);
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 성공한 요청을 실행 중 목록에서 LRU 로 옮깁니다.
+         */
+        void complete(Key key, Entry entry, long nowNanos) {
+            lock.lock();
+            try {
+                if (inFlight.remove(key, entry)) {
+                    entry.completedNanos = nowNanos;
+                    completed.put(key, entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Key key, Entry entry) {
+            lock.lock();
+            try {
+                inFlight.remove(key, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return inFlight.size() + completed.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.concurrent;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Idempotency-Key 중복 요청 캐시 설정
+ * - maximum-size : 기억할 최대 완료 key 수 (초과 시 LRU 로 제거, 실행 중인 key 는 제거하지 않음)
+ * - ttl-millis : 완료된 결과를 기억하는 시간 (실행 중인 요청은 끝날 때까지 유지)
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("100000") int maximumSize,
+        @DefaultValue("600000") long ttlMillis
+) {
+}
@@ -1,28 +1,159 @@
 package io.hhplus.tdd.concurrent;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
+/**
+ * userId 단위 Lock 안에서 작업을 실행합니다.
+ * - 작업(operation)별로 Lock 대기 시간(point.lock.wait)과 보유 시간(point.lock.hold)을 기록합니다.
+ * - max-queue-depth 만큼 이미 기다리고 있으면 기다리지 않고, timeout-millis 안에 Lock 을 얻지 못하면 LockRejectedException 을 던집니다.
+ *   (한 사용자에 요청이 몰려도 기다리는 스레드 수와 시간이 제한됩니다.)
+ */
 @Component
 public class LockExecutor {
 
-    private static final ConcurrentHashMap<Long, Lock> userIdLocks = new ConcurrentHashMap<>();
+    private static final String DEFAULT_OPERATION = "default";
 
-    private Lock getUserLock(long id) {
-        return userIdLocks.computeIfAbsent(id, key -> new ReentrantLock(false));
+    private final UserLockStrategy lockStrategy;
+    private final long timeoutNanos;
+    private final int maxQueueDepth;
+    private final MeterRegistry meterRegistry;
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+    private final ConcurrentHashMap<String, LockTimers> lockTimers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LockExecutor(LockProperties lockProperties, MeterRegistry meterRegistry) {
+        this(lockProperties.createStrategy(), lockProperties.timeoutMillis(), lockProperties.maxQueueDepth(), meterRegistry);
+    }
+
+    public LockExecutor(UserLockStrategy lockStrategy) {
+        // 등록된 registry 가 없는 composite 는 기록을 하지 않습니다.
+        this(lockStrategy, new CompositeMeterRegistry());
+    }
+
+    public LockExecutor(UserLockStrategy lockStrategy, MeterRegistry meterRegistry) {
+        this(lockStrategy, 0L, 0, meterRegistry);
+    }
+
+    public LockExecutor(UserLockStrategy lockStrategy, long timeoutMillis, int maxQueueDepth, MeterRegistry meterRegistry) {
+        this.lockStrategy = lockStrategy;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.maxQueueDepth = maxQueueDepth;
+        this.meterRegistry = meterRegistry;
+        this.queueFullRejections = rejectionCounter(meterRegistry, "queue_full");
+        this.timeoutRejections = rejectionCounter(meterRegistry, "timeout");
+        Gauge.builder("point.lock.live", lockStrategy, UserLockStrategy::lockCount).register(meterRegistry);
     }
 
     public <T> T executeWithUserLock(long userId, Supplier<T> task) {
-        Lock lock = getUserLock(userId);
-        lock.lock();
+        return executeWithUserLock(userId, DEFAULT_OPERATION, task);
+    }
+
+    public <T> T executeWithUserLock(long userId, String operation, Supplier<T> task) {
+        LockTimers timers = timersOf(operation);
+        Lock lock = lockStrategy.obtain(userId);
+        long acquiredNanos = lock(userId, lock, timers);
         try {
             return task.get();
         } finally {
-            lock.unlock();
+            unlock(userId, lock, timers, acquiredNanos);
         }
     }
+
+    /**
+     * userId 와 argument 를 task 에 그대로 전달합니다.
+     * - task 를 필드에 두고 재사용하면, 이미 Lock 이 있는 사용자의 요청은 이 메서드 안에서 할당이 없습니다.
+     */
+    public <T> T executeWithUserLock(long userId, String operation, long argument, UserLockTask<T> task) {
+        LockTimers timers = timersOf(operation);
+        Lock lock = lockStrategy.obtain(userId);
+        long acquiredNanos = lock(userId, lock, timers);
+        try {
+            return task.execute(userId, argument);
+        } finally {
+            unlock(userId, lock, timers, acquiredNanos);
+        }
+    }
+
+    // Lock 을 얻은 시각을 반환합니다. 거절되면 Lock 을 반납하고 예외를 던집니다.
+    private long lock(long userId, Lock lock, LockTimers timers) {
+        long waitStartNanos = System.nanoTime();
+        try {
+            acquire(lock);
+        } catch (LockRejectedException e) {
+            lockStrategy.release(userId, lock);
+            throw e;
+        }
+        long acquiredNanos = System.nanoTime();
+        timers.waitTimer().record(acquiredNanos - waitStartNanos, TimeUnit.NANOSECONDS);
+        return acquiredNanos;
+    }
+
+    private void unlock(long userId, Lock lock, LockTimers timers, long acquiredNanos) {
+        lock.unlock();
+        timers.holdTimer().record(System.nanoTime() - acquiredNanos, TimeUnit.NANOSECONDS);
+        lockStrategy.release(userId, lock);
+    }
+
+    // 이미 등록된 operation 은 computeIfAbsent 의 메서드 참조를 만들지 않고 바로 찾습니다.
+    private LockTimers timersOf(String operation) {
+        LockTimers timers = lockTimers.get(operation);
+        return timers != null ? timers : lockTimers.computeIfAbsent(operation, this::createTimers);
+    }
+
+    private void acquire(Lock lock) {
+        // 대기 수는 추정치이므로 한도를 조금 넘을 수 있지만, 몰린 요청이 계속 쌓이는 것은 막습니다.
+        if (maxQueueDepth > 0 && lock instanceof ReentrantLock reentrantLock
+                && reentrantLock.getQueueLength() >= maxQueueDepth) {
+            queueFullRejections.increment();
+            throw new LockRejectedException(LockRejectedException.Reason.QUEUE_FULL);
+        }
+        if (timeoutNanos <= 0) {
+            lock.lock();
+            return;
+        }
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            timeoutRejections.increment();
+            throw new LockRejectedException(LockRejectedException.Reason.TIMEOUT);
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("point.lock.rejections")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public int lockCount() {
+        return lockStrategy.lockCount();
+    }
+
+    private LockTimers createTimers(String operation) {
+        return new LockTimers(
+                Timer.builder("point.lock.wait").tag("operation", operation).register(meterRegistry),
+                Timer.builder("point.lock.hold").tag("operation", operation).register(meterRegistry)
+        );
+    }
+
+    private record LockTimers(Timer waitTimer, Timer holdTimer) {
+    }
 }
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.concurrent;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 사용자 Lock 설정
+ * - strategy : map(사용자별 Lock 유지) / striped(고정 크기 Lock 배열) / ref-counted(미사용 Lock 제거)
+ * - stripes : striped 전략의 Lock 개수
+ * - fair : true 이면 먼저 기다린 요청부터 Lock 을 얻습니다. (처리량은 줄지만 오래 기다리는 요청이 생기지 않음)
+ * - timeout-millis : Lock 을 기다릴 최대 시간, 0 이면 제한 없음
+ * - max-queue-depth : 한 Lock 을 기다릴 수 있는 최대 요청 수, 0 이면 제한 없음 (넘으면 기다리지 않고 거절)
+ * - 비동기 API 는 Lock 대신 AsyncUserExecutor 의 사용자 대기열에서 기다리므로, 두 한도를 그 대기열에도 적용합니다.
+ */
+@ConfigurationProperties(prefix = "point.lock")
+public record LockProperties(
+        @DefaultValue("map") Strategy strategy,
+        @DefaultValue("4096") int stripes,
+        @DefaultValue("false") boolean fair,
+        @DefaultValue("0") long timeoutMillis,
+        @DefaultValue("0") int maxQueueDepth
+) {
+
+    public enum Strategy {
+        MAP, STRIPED, REF_COUNTED
+    }
+
+    public UserLockStrategy createStrategy() {
+        return switch (strategy) {
+            case MAP -> new MapLockStrategy(fair);
+            case STRIPED -> new StripedLockStrategy(stripes, fair);
+            case REF_COUNTED -> new RefCountedLockStrategy(fair);
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.concurrent;
+
+/**
+ * 사용자 Lock 을 얻지 못해 작업을 실행하지 않았을 때 발생합니다. (요청을 다시 시도해도 안전)
+ * - QUEUE_FULL : 이미 max-queue-depth 만큼 기다리고 있어 기다리지 않고 거절
+ * - TIMEOUT : timeout-millis 안에 Lock 을 얻지 못함
+ * - 요청이 몰릴 때 자주 발생하므로 stack trace 를 만들지 않습니다.
+ */
+public class LockRejectedException extends RuntimeException {
+
+    public enum Reason {
+        QUEUE_FULL("요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+        TIMEOUT("처리 대기 시간을 초과했습니다. 잠시 후 다시 시도해주세요.");
+
+        private final String message;
+
+        Reason(String message) {
+            this.message = message;
+        }
+    }
+
+    private final Reason reason;
+
+    public LockRejectedException(Reason reason) {
+        super(reason.message, null, false, false);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,34 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * 사용자마다 ReentrantLock 을 하나씩 만들어 계속 유지합니다.
+ * - 사용자 간 경합은 전혀 없지만, 한 번이라도 요청한 사용자 수만큼 Lock 이 쌓입니다.
+ * - long key 그대로 조회하므로 이미 Lock 이 있는 사용자는 obtain 에서 할당이 없습니다.
+ */
+public class MapLockStrategy implements UserLockStrategy {
+
+    private final ConcurrentLongMap<Lock> userIdLocks = new ConcurrentLongMap<>();
+    private final LongFunction<Lock> lockFactory;
+
+    public MapLockStrategy() {
+        this(false);
+    }
+
+    public MapLockStrategy(boolean fair) {
+        this.lockFactory = key -> new ReentrantLock(fair);
+    }
+
+    @Override
+    public Lock obtain(long userId) {
+        return userIdLocks.computeIfAbsent(userId, lockFactory);
+    }
+
+    @Override
+    public int lockCount() {
+        return (int) userIdLocks.size();
+    }
+}
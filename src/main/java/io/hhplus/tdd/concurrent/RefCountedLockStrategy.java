@@ -0,0 +1,52 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 Lock 을 참조 횟수로 관리하여, 보유/대기 중인 스레드가 없으면 제거합니다.
+ * - 참조 횟수 증감은 ConcurrentHashMap.compute 안에서 처리하므로 제거와 재획득이 겹치지 않습니다.
+ */
+public class RefCountedLockStrategy implements UserLockStrategy {
+
+    private final ConcurrentHashMap<Long, RefCountedLock> userIdLocks = new ConcurrentHashMap<>();
+    private final boolean fair;
+
+    public RefCountedLockStrategy() {
+        this(false);
+    }
+
+    public RefCountedLockStrategy(boolean fair) {
+        this.fair = fair;
+    }
+
+    @Override
+    public Lock obtain(long userId) {
+        return userIdLocks.compute(userId, (key, lock) -> {
+            RefCountedLock target = lock == null ? new RefCountedLock(fair) : lock;
+            target.references++;
+            return target;
+        });
+    }
+
+    @Override
+    public void release(long userId, Lock lock) {
+        userIdLocks.computeIfPresent(userId, (key, current) -> --current.references == 0 ? null : current);
+    }
+
+    @Override
+    public int lockCount() {
+        return userIdLocks.size();
+    }
+
+    private static final class RefCountedLock extends ReentrantLock {
+
+        // compute 안에서만 변경합니다.
+        private int references;
+
+        RefCountedLock(boolean fair) {
+            super(fair);
+        }
+    }
+}
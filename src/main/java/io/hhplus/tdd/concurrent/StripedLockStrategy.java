@@ -0,0 +1,42 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정 크기 Lock 배열을 userId 해시로 나눠 사용합니다.
+ * - 메모리는 stripe 수만큼으로 고정되지만, 같은 stripe 의 서로 다른 사용자끼리는 순차 처리됩니다.
+ */
+public class StripedLockStrategy implements UserLockStrategy {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    public StripedLockStrategy(int stripeCount) {
+        this(stripeCount, false);
+    }
+
+    public StripedLockStrategy(int stripeCount, boolean fair) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(fair);
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public Lock obtain(long userId) {
+        return stripes[stripeIndex(userId)];
+    }
+
+    @Override
+    public int lockCount() {
+        return stripes.length;
+    }
+
+    int stripeIndex(long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.concurrent;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * userId 별 Lock 을 제공하는 전략
+ * - obtain 으로 얻은 Lock 은 unlock 이후 반드시 release 로 반납합니다.
+ */
+public interface UserLockStrategy {
+
+    Lock obtain(long userId);
+
+    default void release(long userId, Lock lock) {
+    }
+
+    // 현재 유지 중인 Lock 인스턴스 수
+    int lockCount();
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.concurrent;
+
+/**
+ * 사용자 Lock 안에서 실행할 작업
+ * - userId 와 인자(금액 등)를 호출 시 전달받으므로, 필드에 한 번 만들어 둔 작업을 요청마다 재사용할 수 있습니다.
+ *   (값을 캡처하는 Supplier 처럼 요청마다 람다 객체를 만들지 않습니다.)
+ * - AsyncUserExecutor 의 사용자 대기열 작업에도 같은 형태로 사용합니다.
+ */
+@FunctionalInterface
+public interface UserLockTask<T> {
+
+    T execute(long userId, long argument);
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 잔액 캐시 설정
+ * - enabled : UserPointTable 앞단 캐시 사용 여부
+ * - maximum-size : 캐시에 유지할 최대 사용자 수 (초과 시 LRU 로 제거)
+ */
+@ConfigurationProperties(prefix = "point.balance-cache")
+public record BalanceCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maximumSize
+) {
+}
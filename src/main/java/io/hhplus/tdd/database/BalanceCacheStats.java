@@ -0,0 +1,13 @@
+package io.hhplus.tdd.database;
+
+public record BalanceCacheStats(
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        long size
+) {
+
+    public static BalanceCacheStats disabled() {
+        return new BalanceCacheStats(0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,181 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.CRC32C;
+
+/**
+ * lastHistoryId 까지의 내역을 적용한 사용자별 잔액과 내역 인덱스 / 통계
+ * - userLastHistoryIds : 사용자별 마지막 내역 id (저널의 previousId 로 사용자 인덱스를 거슬러 올라가는 시작점)
+ * - rollups : 사용자별 누적 통계 (건수가 곧 사용자 인덱스의 크기)
+ * - 파일 : magic(4) version(4) lastHistoryId(8) count(4)
+ *   [userId(8) point(8) updateMillis(8) userLastHistoryId(8) rollup(UserHistoryRollup.writeTo)] * count crc32c(4)
+ * - 이전 버전 파일은 읽지 않습니다. (건너뛰고 저널 전체를 replay 합니다.)
+ */
+record BalanceSnapshot(
+        long lastHistoryId,
+        long[] userIds,
+        long[] points,
+        long[] updateMillis,
+        long[] userLastHistoryIds,
+        UserHistoryRollup[] rollups
+) {
+
+    // "PTBS"
+    private static final int MAGIC = 0x50544253;
+    private static final int VERSION = 2;
+
+    static BalanceSnapshot empty() {
+        return new BalanceSnapshot(0, new long[0], new long[0], new long[0], new long[0], new UserHistoryRollup[0]);
+    }
+
+    int size() {
+        return userIds.length;
+    }
+
+    /**
+     * 이 스냅샷에 이후 내역을 순서대로 적용해 새 스냅샷을 만드는 builder
+     */
+    Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    void writeTo(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream file = Channels.newOutputStream(channel);
+             CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), crc);
+             DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastHistoryId);
+            out.writeInt(userIds.length);
+            for (int i = 0; i < userIds.length; i++) {
+                out.writeLong(userIds[i]);
+                out.writeLong(points[i]);
+                out.writeLong(updateMillis[i]);
+                out.writeLong(userLastHistoryIds[i]);
+                rollups[i].writeTo(out);
+            }
+            out.flush();
+            // crc 자체는 checksum 에 포함하지 않습니다.
+            new DataOutputStream(file).writeInt((int) crc.getValue());
+            channel.force(true);
+        }
+    }
+
+    static BalanceSnapshot readFrom(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path));
+             DataInputStream in = new DataInputStream(new CheckedInputStream(file, crc))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("잔액 스냅샷 형식이 아닙니다. " + path);
+            }
+            long lastHistoryId = in.readLong();
+            int count = in.readInt();
+            long[] userIds = new long[count];
+            long[] points = new long[count];
+            long[] updateMillis = new long[count];
+            long[] userLastHistoryIds = new long[count];
+            UserHistoryRollup[] rollups = new UserHistoryRollup[count];
+            for (int i = 0; i < count; i++) {
+                userIds[i] = in.readLong();
+                points[i] = in.readLong();
+                updateMillis[i] = in.readLong();
+                userLastHistoryIds[i] = in.readLong();
+                rollups[i] = UserHistoryRollup.readFrom(in);
+            }
+            int expected = (int) crc.getValue();
+            if (new DataInputStream(file).readInt() != expected) {
+                throw new IOException("잔액 스냅샷 crc 가 맞지 않습니다. " + path);
+            }
+            return new BalanceSnapshot(lastHistoryId, userIds, points, updateMillis, userLastHistoryIds, rollups);
+        }
+    }
+
+    static final class Builder {
+
+        private final Map<Long, Integer> positions;
+        private long[] userIds;
+        private long[] points;
+        private long[] updateMillis;
+        private long[] userLastHistoryIds;
+        private UserHistoryRollup[] rollups;
+        private int count;
+        private long lastHistoryId;
+
+        private Builder(BalanceSnapshot base) {
+            this.count = base.size();
+            this.lastHistoryId = base.lastHistoryId();
+            this.positions = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                positions.put(base.userIds()[i], i);
+            }
+            int capacity = Math.max(8, count);
+            this.userIds = Arrays.copyOf(base.userIds(), capacity);
+            this.points = Arrays.copyOf(base.points(), capacity);
+            this.updateMillis = Arrays.copyOf(base.updateMillis(), capacity);
+            this.userLastHistoryIds = Arrays.copyOf(base.userLastHistoryIds(), capacity);
+            // base 의 rollup 은 다른 곳(PointHistoryRepository)에서 사용 중일 수 있으므로 복사해서 누적합니다.
+            this.rollups = new UserHistoryRollup[capacity];
+            for (int i = 0; i < count; i++) {
+                rollups[i] = base.rollups()[i].copy();
+            }
+        }
+
+        void apply(PointHistory pointHistory) {
+            Integer position = positions.get(pointHistory.userId());
+            if (position == null) {
+                if (count == userIds.length) {
+                    userIds = Arrays.copyOf(userIds, count << 1);
+                    points = Arrays.copyOf(points, count << 1);
+                    updateMillis = Arrays.copyOf(updateMillis, count << 1);
+                    userLastHistoryIds = Arrays.copyOf(userLastHistoryIds, count << 1);
+                    rollups = Arrays.copyOf(rollups, count << 1);
+                }
+                position = count++;
+                positions.put(pointHistory.userId(), position);
+                userIds[position] = pointHistory.userId();
+                rollups[position] = new UserHistoryRollup();
+            }
+            points[position] += pointHistory.type() == TransactionType.CHARGE ? pointHistory.amount() : -pointHistory.amount();
+            updateMillis[position] = pointHistory.updateMillis();
+            userLastHistoryIds[position] = pointHistory.id();
+            rollups[position].add(pointHistory.type(), pointHistory.amount(), pointHistory.updateMillis());
+            lastHistoryId = pointHistory.id();
+        }
+
+        long lastHistoryId() {
+            return lastHistoryId;
+        }
+
+        BalanceSnapshot build() {
+            return new BalanceSnapshot(
+                    lastHistoryId,
+                    Arrays.copyOf(userIds, count),
+                    Arrays.copyOf(points, count),
+                    Arrays.copyOf(updateMillis, count),
+                    Arrays.copyOf(userLastHistoryIds, count),
+                    Arrays.copyOf(rollups, count)
+            );
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 잔액 스냅샷 파일을 쓰고 찾습니다. (BalanceSnapshotter 와 기동 시 PointHistoryRepository 가 함께 사용)
+ * - 파일 이름에 스냅샷의 lastHistoryId 를 0 으로 채워 넣으므로 이름 순서가 곧 id 순서입니다.
+ * - 임시 파일에 쓴 뒤 이름을 바꾸므로, 쓰는 도중 죽어도 이전 스냅샷은 그대로 남습니다.
+ */
+class BalanceSnapshotFiles {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotFiles.class);
+    private static final String SNAPSHOT_FILE_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_FILE_SUFFIX = ".balance";
+
+    private final Path directory;
+    private final int retained;
+
+    BalanceSnapshotFiles(BalanceSnapshotProperties properties) {
+        this.directory = Path.of(properties.directory());
+        this.retained = properties.retained();
+    }
+
+    /**
+     * maxHistoryId 를 넘지 않는 가장 최신의 읽을 수 있는 스냅샷
+     * - 손상된 파일은 건너뛰고 그 이전 스냅샷을 사용합니다.
+     */
+    Optional<BalanceSnapshot> latest(long maxHistoryId) {
+        for (Path path : list().reversed()) {
+            if (historyIdOf(path) > maxHistoryId) {
+                continue;
+            }
+            try {
+                return Optional.of(BalanceSnapshot.readFrom(path));
+            } catch (IOException e) {
+                log.warn("잔액 스냅샷을 읽을 수 없어 건너뜁니다. path={}", path, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 스냅샷을 저장하고 오래된 파일은 retained 개수만 남깁니다.
+     */
+    void write(BalanceSnapshot snapshot) {
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_FILE_PREFIX, snapshot.lastHistoryId(), SNAPSHOT_FILE_SUFFIX));
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+            snapshot.writeTo(temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("잔액 스냅샷을 저장할 수 없습니다. directory=" + directory, e);
+        }
+        prune();
+    }
+
+    private void prune() {
+        List<Path> files = list();
+        for (Path path : files.subList(0, Math.max(0, files.size() - retained))) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("오래된 잔액 스냅샷을 지울 수 없습니다. path={}", path, e);
+            }
+        }
+    }
+
+    private List<Path> list() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_FILE_PREFIX) && name.endsWith(SNAPSHOT_FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("잔액 스냅샷 디렉터리를 읽을 수 없습니다. directory=" + directory, e);
+        }
+    }
+
+    private static long historyIdOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_FILE_PREFIX.length(), name.length() - SNAPSHOT_FILE_SUFFIX.length()));
+    }
+}
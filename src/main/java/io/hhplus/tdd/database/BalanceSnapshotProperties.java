@@ -0,0 +1,24 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 잔액 스냅샷 설정 (point.history.journal.enabled 일 때만 의미가 있습니다.)
+ * - enabled : 주기적으로 잔액 스냅샷을 저장하고, 기동 시 최신 스냅샷 이후의 내역만 replay (잔액 / 내역 인덱스 / 통계)
+ * - directory : 스냅샷 파일을 둘 디렉터리
+ * - interval-millis : 스냅샷 주기
+ * - retained : 남겨둘 스냅샷 파일 수 (최신 파일이 손상된 경우를 대비)
+ */
+@ConfigurationProperties(prefix = "point.snapshot")
+public record BalanceSnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/snapshot") String directory,
+        @DefaultValue("60000") long intervalMillis,
+        @DefaultValue("2") int retained
+) {
+
+    public static BalanceSnapshotProperties disabled() {
+        return new BalanceSnapshotProperties(false, "data/snapshot", 60000, 2);
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.database;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 잔액 스냅샷을 주기적으로 파일에 저장하고, 기동 시 최신 스냅샷을 찾아줍니다.
+ * - 스냅샷은 잔액 저장소가 아니라 fsync 된 (더 이상 바뀌지 않는) 내역을 직전 스냅샷에 접어서 만듭니다.
+ *   그래서 충전/사용 경로의 lock 을 잡지 않고도 특정 내역 id 시점의 일관된 잔액이 됩니다.
+ * - 잔액과 함께 사용자별 마지막 내역 id 와 누적 통계도 저장해, 기동 시 내역 인덱스와 통계도 스냅샷 이후 내역만으로 복구합니다.
+ */
+@Component
+public class BalanceSnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotter.class);
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final BalanceSnapshotProperties properties;
+    private final BalanceSnapshotFiles files;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private ScheduledExecutorService scheduler;
+
+    public BalanceSnapshotter(PointHistoryRepository pointHistoryRepository, BalanceSnapshotProperties properties) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.properties = properties;
+        this.files = new BalanceSnapshotFiles(properties);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-balance-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, properties.intervalMillis(), properties.intervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        snapshotQuietly();
+    }
+
+    /**
+     * 최신 스냅샷에 그 이후 fsync 된 내역을 적용해 새 스냅샷을 저장합니다.
+     * - 새로 반영할 내역이 없으면 파일을 만들지 않습니다.
+     */
+    public long snapshot() {
+        snapshotLock.lock();
+        try {
+            BalanceSnapshot base = files.latest(Long.MAX_VALUE).orElseGet(BalanceSnapshot::empty);
+            BalanceSnapshot.Builder builder = base.toBuilder();
+            pointHistoryRepository.forEachDurable(base.lastHistoryId(), builder::apply);
+            if (builder.lastHistoryId() == base.lastHistoryId()) {
+                return base.lastHistoryId();
+            }
+            BalanceSnapshot snapshot = builder.build();
+            files.write(snapshot);
+            log.info("잔액 스냅샷을 저장했습니다. lastHistoryId={}, users={}", snapshot.lastHistoryId(), snapshot.size());
+            return snapshot.lastHistoryId();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * maxHistoryId 를 넘지 않는 가장 최신의 읽을 수 있는 스냅샷
+     * - 손상된 파일은 건너뛰고 그 이전 스냅샷을 사용합니다.
+     */
+    Optional<BalanceSnapshot> latest(long maxHistoryId) {
+        return properties.enabled() ? files.latest(maxHistoryId) : Optional.empty();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("잔액 스냅샷 저장에 실패했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 잔액 저장소 설정
+ * - type : table(UserPointTable + 잔액 캐시) / primitive(long 배열 기반 open addressing, 캐시 없음)
+ * - segments : primitive 저장소의 세그먼트 수 (세그먼트마다 lock 과 배열을 따로 둡니다.)
+ * - initial-capacity : primitive 저장소 전체의 초기 사용자 수 (예상 사용자 수로 잡으면 확장이 일어나지 않습니다.)
+ */
+@ConfigurationProperties(prefix = "point.balance-store")
+public record BalanceStoreProperties(
+        @DefaultValue("table") Type type,
+        @DefaultValue("64") int segments,
+        @DefaultValue("65536") int initialCapacity
+) {
+
+    public enum Type {
+        TABLE, PRIMITIVE
+    }
+
+    public static BalanceStoreProperties table() {
+        return new BalanceStoreProperties(Type.TABLE, 64, 65536);
+    }
+}
@@ -0,0 +1,171 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.concurrent.ConcurrentLongMap;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryAggregate;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 내역을 고정 크기 chunk 의 컬럼(userId / amount / updateMillis / type)에 나눠 저장하는 메모리 저장소
+ * - id 는 1 부터 빈틈없이 증가하므로 저장하지 않고 행 위치(id - 1)로 대신합니다.
+ * - 내역 1 건에 컬럼 25 bytes + 사용자 인덱스 8 bytes 만 사용합니다. (PointHistory 객체는 조회 결과로만 만듭니다.)
+ * - 조건 검사와 합계는 컬럼 값으로 바로 계산하므로, 조건에 맞지 않는 내역은 객체로 만들지 않습니다.
+ */
+class ColumnarPointHistoryStore implements PointHistoryStore {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ConcurrentLongMap<UserHistoryIds> index = new ConcurrentLongMap<>();
+
+    // chunk 추가 시 배열을 교체하므로 읽기는 lock 없이 합니다.
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile long lastId;
+
+    ColumnarPointHistoryStore(int chunkSize) {
+        int rows = Integer.highestOneBit(Math.max(1, chunkSize - 1) << 1);
+        this.chunkShift = Integer.numberOfTrailingZeros(rows);
+        this.chunkMask = rows - 1;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long id;
+        appendLock.lock();
+        try {
+            id = lastId + 1;
+            int row = rowOf(id);
+            Chunk chunk = chunkFor(id);
+            chunk.userIds[row] = userId;
+            chunk.amounts[row] = amount;
+            chunk.updateMillis[row] = updateMillis;
+            chunk.types[row] = (byte) type.ordinal();
+            // lastId 갱신이 마지막이어야 읽기 스레드가 채워진 행만 보게 됩니다.
+            lastId = id;
+        } finally {
+            appendLock.unlock();
+        }
+        index.computeIfAbsent(userId, key -> new UserHistoryIds()).append(id);
+        return new PointHistory(id, userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserHistoryIds ids = index.get(userId);
+        return ids == null ? List.of() : ids.snapshot(this::read);
+    }
+
+    @Override
+    public void forEachByUserId(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        UserHistoryIds ids = index.get(userId);
+        if (ids == null) {
+            return;
+        }
+        int[] remaining = {query.limit()};
+        ids.forEachId(query.afterId(), id -> {
+            if (remaining[0] <= 0) {
+                return false;
+            }
+            Chunk chunk = chunks[chunkIndexOf(id)];
+            int row = rowOf(id);
+            TransactionType type = TYPES[chunk.types[row]];
+            if (query.matches(type, chunk.updateMillis[row])) {
+                consumer.accept(new PointHistory(id, chunk.userIds[row], chunk.amounts[row], type, chunk.updateMillis[row]));
+                remaining[0]--;
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public PointHistoryAggregate aggregateByUserId(long userId, PointHistoryQuery query) {
+        UserHistoryIds ids = index.get(userId);
+        if (ids == null) {
+            return PointHistoryAggregate.empty();
+        }
+        long[] totals = new long[3];
+        ids.forEachId(query.afterId(), id -> {
+            Chunk chunk = chunks[chunkIndexOf(id)];
+            int row = rowOf(id);
+            TransactionType type = TYPES[chunk.types[row]];
+            if (query.matches(type, chunk.updateMillis[row])) {
+                totals[0]++;
+                totals[type == TransactionType.CHARGE ? 1 : 2] += chunk.amounts[row];
+            }
+            return true;
+        });
+        return new PointHistoryAggregate(totals[0], totals[1], totals[2]);
+    }
+
+    @Override
+    public void replay(long afterId, Consumer<PointHistory> consumer) {
+    }
+
+    @Override
+    public void forEachDurable(long afterId, Consumer<PointHistory> consumer) {
+    }
+
+    @Override
+    public long recoveredCount() {
+        return 0;
+    }
+
+    @Override
+    public Iterable<Long> recoveredUserIds() {
+        return List.of();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private PointHistory read(long id) {
+        Chunk chunk = chunks[chunkIndexOf(id)];
+        int row = rowOf(id);
+        return new PointHistory(id, chunk.userIds[row], chunk.amounts[row], TYPES[chunk.types[row]], chunk.updateMillis[row]);
+    }
+
+    private Chunk chunkFor(long id) {
+        int chunkIndex = chunkIndexOf(id);
+        Chunk[] current = chunks;
+        if (chunkIndex < current.length) {
+            return current[chunkIndex];
+        }
+        Chunk chunk = new Chunk(chunkMask + 1);
+        Chunk[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = chunk;
+        chunks = next;
+        return chunk;
+    }
+
+    private int chunkIndexOf(long id) {
+        return (int) ((id - 1) >>> chunkShift);
+    }
+
+    private int rowOf(long id) {
+        return (int) ((id - 1) & chunkMask);
+    }
+
+    private static final class Chunk {
+
+        private final long[] userIds;
+        private final long[] amounts;
+        private final long[] updateMillis;
+        private final byte[] types;
+
+        Chunk(int rows) {
+            this.userIds = new long[rows];
+            this.amounts = new long[rows];
+            this.updateMillis = new long[rows];
+            this.types = new byte[rows];
+        }
+    }
+}
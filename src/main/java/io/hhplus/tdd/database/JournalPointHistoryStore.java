@@ -0,0 +1,126 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 내역은 PointHistoryJournal(힙 밖의 memory-mapped 파일)에 저장하고, 힙에는 사용자별 id 인덱스만 유지합니다.
+ * - 기동 시 스냅샷의 사용자별 마지막 내역 id / 건수로 인덱스를 만들고, 스냅샷 이후 내역만 저널에서 읽어 덧붙입니다.
+ *   스냅샷 이전 id 는 사용자를 처음 조회할 때 저널의 previousId 로 거슬러 올라가 채웁니다.
+ */
+class JournalPointHistoryStore implements PointHistoryStore {
+
+    private final PointHistoryJournal journal;
+    private final ConcurrentHashMap<Long, UserHistoryIds> index = new ConcurrentHashMap<>();
+    private final long recoveredCount;
+
+    /**
+     * snapshot 은 journal.lastId() 이하 시점의 스냅샷이어야 합니다. (없으면 BalanceSnapshot.empty())
+     */
+    JournalPointHistoryStore(PointHistoryJournal journal, BalanceSnapshot snapshot) {
+        this.journal = journal;
+        this.recoveredCount = journal.lastId();
+        for (int i = 0; i < snapshot.size(); i++) {
+            index.put(snapshot.userIds()[i], UserHistoryIds.recovered(
+                    snapshot.userLastHistoryIds()[i], (int) snapshot.rollups()[i].count(), journal::previousIdOf));
+        }
+        journal.replay(snapshot.lastHistoryId(), recoveredCount, pointHistory -> indexOf(pointHistory.userId()).append(pointHistory.id()));
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        UserHistoryIds ids = indexOf(userId);
+        // 같은 사용자의 insert 는 호출자가 직렬화하므로 lastId 와 append 사이에 다른 내역이 끼지 않습니다.
+        PointHistory pointHistory = journal.append(userId, amount, type, updateMillis, ids.lastId());
+        ids.append(pointHistory.id());
+        return pointHistory;
+    }
+
+    /**
+     * - 모든 내역을 기록한 뒤 마지막 id 까지의 fsync 를 한 번만 기다리고, fsync 가 끝난 내역만 인덱스에 반영합니다.
+     * - batch 안에 같은 사용자의 내역이 여러 건이면 previousId 는 batch 안의 직전 내역입니다.
+     */
+    @Override
+    public void insertAll(PointHistoryBatch batch) {
+        long[] written = new long[batch.size()];
+        int count = 0;
+        RuntimeException failure = null;
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                written[i] = journal.appendUnsynced(batch.userId(i), batch.amount(i), batch.type(i), batch.updateMillis(i), previousIdOf(batch, written, i)).id();
+            } catch (RuntimeException e) {
+                failure = e;
+                break;
+            }
+            count++;
+        }
+        if (count > 0) {
+            journal.awaitSynced(written[count - 1]);
+            for (int i = 0; i < count; i++) {
+                indexOf(batch.userId(i)).append(written[i]);
+                batch.inserted();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private long previousIdOf(PointHistoryBatch batch, long[] written, int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            if (batch.userId(i) == batch.userId(index)) {
+                return written[i];
+            }
+        }
+        return indexOf(batch.userId(index)).lastId();
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserHistoryIds ids = index.get(userId);
+        return ids == null ? List.of() : ids.snapshot(journal::read);
+    }
+
+    @Override
+    public void forEachByUserId(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        UserHistoryIds ids = index.get(userId);
+        if (ids != null) {
+            ids.forEach(query, journal::read, consumer);
+        }
+    }
+
+    @Override
+    public void replay(long afterId, Consumer<PointHistory> consumer) {
+        journal.replay(afterId, recoveredCount, consumer);
+    }
+
+    @Override
+    public void forEachDurable(long afterId, Consumer<PointHistory> consumer) {
+        journal.sync();
+        journal.replay(afterId, journal.syncedId(), consumer);
+    }
+
+    @Override
+    public long recoveredCount() {
+        return recoveredCount;
+    }
+
+    @Override
+    public Iterable<Long> recoveredUserIds() {
+        return index.keySet();
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    private UserHistoryIds indexOf(long userId) {
+        return index.computeIfAbsent(userId, key -> new UserHistoryIds());
+    }
+}
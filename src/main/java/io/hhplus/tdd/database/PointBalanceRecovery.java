@@ -0,0 +1,56 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 기동 시 사용자별 잔액을 복구합니다.
+ * - 최신 잔액 스냅샷을 먼저 적용하고, 스냅샷 이후 저장된 내역만 순서대로 다시 적용합니다.
+ * - 요청을 받기 전(빈 초기화 단계)에 실행됩니다.
+ * - 복구한 잔액은 restoreAll 로 적재하므로, 지연이 있는 테이블 저장을 사용자마다 거치지 않습니다.
+ * - 저장된 내역이 없으면(테이블 저장소) 아무것도 하지 않습니다.
+ */
+@RequiredArgsConstructor
+@Component
+public class PointBalanceRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(PointBalanceRecovery.class);
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
+    private final BalanceSnapshotter balanceSnapshotter;
+
+    @PostConstruct
+    public void recover() {
+        long recoveredCount = pointHistoryRepository.recoveredCount();
+        if (recoveredCount == 0) {
+            return;
+        }
+        // 저널이 스냅샷보다 짧다면(저널 유실) 그 스냅샷은 쓸 수 없습니다.
+        BalanceSnapshot snapshot = balanceSnapshotter.latest(recoveredCount).orElseGet(BalanceSnapshot::empty);
+
+        Map<Long, Long> balances = new HashMap<>(snapshot.size() * 2);
+        for (int i = 0; i < snapshot.size(); i++) {
+            balances.put(snapshot.userIds()[i], snapshot.points()[i]);
+        }
+        long[] replayed = new long[1];
+        pointHistoryRepository.replay(snapshot.lastHistoryId(), pointHistory -> {
+            balances.merge(pointHistory.userId(), signedAmount(pointHistory), Long::sum);
+            replayed[0]++;
+        });
+        userPointRepository.restoreAll(balances);
+        log.info("잔액을 복구했습니다. snapshotHistoryId={}, replayed={}, users={}", snapshot.lastHistoryId(), replayed[0], balances.size());
+    }
+
+    private static long signedAmount(PointHistory pointHistory) {
+        return pointHistory.type() == TransactionType.CHARGE ? pointHistory.amount() : -pointHistory.amount();
+    }
+}
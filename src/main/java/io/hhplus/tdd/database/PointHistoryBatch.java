@@ -0,0 +1,69 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * PointHistoryRepository.insertAll 로 한 번에 저장할 내역 버퍼
+ * - 한 스레드가 채우고 저장한 뒤 clear 해서 재사용합니다. (thread-safe 하지 않습니다.)
+ * - 저장이 실패하면 앞에서부터 insertedCount() 건까지만 저장된 것입니다.
+ */
+public class PointHistoryBatch {
+
+    private final long[] userIds;
+    private final long[] amounts;
+    private final TransactionType[] types;
+    private final long[] updateMillis;
+    private int size;
+    private int insertedCount;
+
+    public PointHistoryBatch(int capacity) {
+        this.userIds = new long[capacity];
+        this.amounts = new long[capacity];
+        this.types = new TransactionType[capacity];
+        this.updateMillis = new long[capacity];
+    }
+
+    public void add(long userId, long amount, TransactionType type, long updateMillis) {
+        if (size == userIds.length) {
+            throw new IllegalStateException("내역 버퍼가 가득 찼습니다. capacity=" + userIds.length);
+        }
+        userIds[size] = userId;
+        amounts[size] = amount;
+        types[size] = type;
+        this.updateMillis[size] = updateMillis;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int insertedCount() {
+        return insertedCount;
+    }
+
+    public void clear() {
+        size = 0;
+        insertedCount = 0;
+    }
+
+    long userId(int index) {
+        return userIds[index];
+    }
+
+    long amount(int index) {
+        return amounts[index];
+    }
+
+    TransactionType type(int index) {
+        return types[index];
+    }
+
+    long updateMillis(int index) {
+        return updateMillis[index];
+    }
+
+    void inserted() {
+        insertedCount++;
+    }
+}
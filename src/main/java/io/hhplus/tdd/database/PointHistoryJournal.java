@@ -0,0 +1,449 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * 포인트 내역을 고정 길이 레코드로 memory-mapped 세그먼트 파일에 순서대로 기록하는 append-only 저널
+ * - 레코드 : id(8) userId(8) amount(8) updateMillis(8) previousId(8) type(1) padding(3) crc32c(4) = 48 bytes
+ * - previousId 는 같은 사용자의 직전 내역 id(없으면 0)로, 사용자별 인덱스를 저널 전체를 읽지 않고 거슬러 올라가 만들 수 있게 합니다.
+ * - id 는 1 부터 빈틈없이 증가하므로 id 만으로 세그먼트와 위치를 계산합니다.
+ * - 기록은 page cache 에 반영한 뒤, sync 스레드가 그 레코드까지 fsync 할 때까지 기다렸다가 반환합니다. (group commit)
+ *   sync 스레드는 기다리는 기록이 생기면 바로 fsync 하고, fsync 하는 동안 들어온 기록은 다음 fsync 한 번으로 함께 반영합니다.
+ *   그래서 반환된(응답한) 내역은 OS 장애에도 유실되지 않습니다.
+ * - ack-before-sync 가 true 이면 기다리지 않고 바로 반환하고, sync 스레드가 sync-interval 마다 모아서 fsync 합니다.
+ *   프로세스가 죽어도 기록은 남지만, OS 장애 시에는 마지막 sync 이후 최대 sync-interval 동안 응답한 기록이 유실될 수 있습니다.
+ * - fsync 가 끝나면 그 id 를 checkpoint 파일에 기록합니다. 기동 시 checkpoint 까지는 검사하지 않고
+ *   그 이후 레코드만 읽어 crc 가 맞지 않는 첫 레코드를 끝으로 보고 그 뒤는 비웁니다.
+ */
+class PointHistoryJournal {
+
+    static final int RECORD_SIZE = 48;
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryJournal.class);
+    private static final int PREVIOUS_ID_OFFSET = 32;
+    private static final int TYPE_OFFSET = 40;
+    private static final int CRC_OFFSET = 44;
+    private static final String SEGMENT_FILE_FORMAT = "segment-%010d.journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int CHECKPOINT_SIZE = 12;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final long segmentBytes;
+    private final long syncIntervalMillis;
+    private final boolean ackBeforeSync;
+    private final Timer syncTimer;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    // sync 스레드는 appended 로 기록을 기다리고, 기록한 스레드는 synced 로 fsync 를 기다립니다.
+    private final ReentrantLock syncStateLock = new ReentrantLock();
+    private final Condition appended = syncStateLock.newCondition();
+    private final Condition synced = syncStateLock.newCondition();
+    private final ByteBuffer scratch = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private final ByteBuffer checkpoint = ByteBuffer.allocate(CHECKPOINT_SIZE);
+    private final CRC32C checkpointCrc = new CRC32C();
+    private final Thread syncer;
+    private FileChannel checkpointChannel;
+
+    // 세그먼트 추가 시 배열을 교체하므로 읽기는 lock 없이 합니다.
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private volatile long lastId;
+    private volatile long syncedId;
+    private volatile boolean running = true;
+    private volatile boolean closed;
+
+    PointHistoryJournal(PointHistoryProperties.Journal properties, Timer syncTimer) {
+        if (properties.segmentBytes() < RECORD_SIZE) {
+            throw new IllegalArgumentException("segment-bytes 는 " + RECORD_SIZE + " 이상이어야 합니다.");
+        }
+        this.directory = Path.of(properties.directory());
+        this.recordsPerSegment = properties.segmentBytes() / RECORD_SIZE;
+        this.segmentBytes = (long) recordsPerSegment * RECORD_SIZE;
+        this.syncIntervalMillis = properties.syncIntervalMillis();
+        this.ackBeforeSync = properties.ackBeforeSync();
+        this.syncTimer = syncTimer;
+
+        open();
+        this.syncedId = lastId;
+        this.syncer = new Thread(this::syncLoop, "point-journal-sync");
+        this.syncer.setDaemon(true);
+        this.syncer.start();
+    }
+
+    /**
+     * previousId 는 같은 사용자의 직전 내역 id 입니다. (첫 내역이면 0)
+     * - ack-before-sync 가 아니면 기록이 fsync 될 때까지 기다립니다.
+     */
+    PointHistory append(long userId, long amount, TransactionType type, long updateMillis, long previousId) {
+        PointHistory pointHistory = appendUnsynced(userId, amount, type, updateMillis, previousId);
+        awaitSynced(pointHistory.id());
+        return pointHistory;
+    }
+
+    /**
+     * fsync 를 기다리지 않고 기록합니다. 여러 건을 기록한 뒤 마지막 id 로 awaitSynced 를 한 번 호출합니다.
+     */
+    PointHistory appendUnsynced(long userId, long amount, TransactionType type, long updateMillis, long previousId) {
+        appendLock.lock();
+        try {
+            long id = lastId + 1;
+            MappedByteBuffer segment = segmentFor(id);
+
+            scratch.clear();
+            scratch.putLong(id).putLong(userId).putLong(amount).putLong(updateMillis).putLong(previousId)
+                    .put((byte) type.ordinal()).put((byte) 0).put((byte) 0).put((byte) 0);
+            crc.reset();
+            crc.update(scratch.array(), 0, CRC_OFFSET);
+            scratch.putInt((int) crc.getValue());
+            segment.put(offsetOf(id), scratch, 0, RECORD_SIZE);
+
+            // lastId 갱신이 마지막이어야 읽기 스레드가 기록이 끝난 레코드만 보게 됩니다.
+            lastId = id;
+            return new PointHistory(id, userId, amount, type, updateMillis);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    PointHistory read(long id) {
+        MappedByteBuffer segment = segments[segmentIndexOf(id)];
+        int offset = offsetOf(id);
+        return new PointHistory(
+                segment.getLong(offset),
+                segment.getLong(offset + 8),
+                segment.getLong(offset + 16),
+                TYPES[segment.get(offset + TYPE_OFFSET)],
+                segment.getLong(offset + 24)
+        );
+    }
+
+    /**
+     * id 내역과 같은 사용자의 직전 내역 id (없으면 0)
+     */
+    long previousIdOf(long id) {
+        return segments[segmentIndexOf(id)].getLong(offsetOf(id) + PREVIOUS_ID_OFFSET);
+    }
+
+    /**
+     * afterId 초과 toId 이하의 레코드를 id 순서대로 전달합니다.
+     */
+    void replay(long afterId, long toId, Consumer<PointHistory> consumer) {
+        long last = Math.min(toId, lastId);
+        for (long id = afterId + 1; id <= last; id++) {
+            consumer.accept(read(id));
+        }
+    }
+
+    long lastId() {
+        return lastId;
+    }
+
+    long syncedId() {
+        return syncedId;
+    }
+
+    long unsyncedCount() {
+        return lastId - syncedId;
+    }
+
+    /**
+     * 남은 기록을 fsync 하고 닫습니다. 마지막 fsync 가 실패하면 기다리던 기록은 IllegalStateException 으로 끝납니다.
+     */
+    void close() {
+        running = false;
+        syncer.interrupt();
+        try {
+            syncer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            sync();
+        } finally {
+            closed = true;
+            signal(synced);
+            closeCheckpoint();
+        }
+    }
+
+    /**
+     * id 까지 fsync 될 때까지 기다립니다. (ack-before-sync 이면 바로 반환합니다.)
+     */
+    void awaitSynced(long id) {
+        if (ackBeforeSync) {
+            return;
+        }
+        syncStateLock.lock();
+        try {
+            appended.signal();
+            while (syncedId < id && !closed) {
+                synced.awaitUninterruptibly();
+            }
+        } finally {
+            syncStateLock.unlock();
+        }
+        if (syncedId < id) {
+            throw new IllegalStateException("포인트 내역 저널이 닫혀 fsync 하지 못했습니다. id=" + id);
+        }
+    }
+
+    private void signal(Condition condition) {
+        syncStateLock.lock();
+        try {
+            condition.signalAll();
+        } finally {
+            syncStateLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 sync 이후 기록된 세그먼트를 한 번에 fsync 합니다.
+     */
+    void sync() {
+        syncLock.lock();
+        try {
+            long target = lastId;
+            long from = syncedId;
+            if (target == from) {
+                return;
+            }
+            syncTimer.record(() -> {
+                MappedByteBuffer[] current = segments;
+                int lastSegment = segmentIndexOf(target);
+                for (int i = segmentIndexOf(from + 1); i <= lastSegment; i++) {
+                    current[i].force();
+                }
+            });
+            syncedId = target;
+            signal(synced);
+            writeCheckpoint(target);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * fsync 가 끝난 id 를 기록합니다. 세그먼트를 먼저 fsync 하므로 checkpoint 가 가리키는 레코드는 항상 디스크에 있습니다.
+     * - checkpoint 자체는 fsync 하지 않습니다. 유실되거나 찢어지면(crc 불일치) 기동 시 처음부터 검사할 뿐입니다.
+     */
+    private void writeCheckpoint(long id) {
+        checkpoint.clear();
+        checkpoint.putLong(id);
+        checkpointCrc.reset();
+        checkpointCrc.update(checkpoint.array(), 0, 8);
+        checkpoint.putInt((int) checkpointCrc.getValue());
+        checkpoint.flip();
+        try {
+            checkpointChannel.write(checkpoint, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 저널 checkpoint 를 기록할 수 없습니다. " + directory, e);
+        }
+    }
+
+    // 찢어졌거나 없는 checkpoint 는 0 으로 봅니다.
+    private long readCheckpoint() {
+        try {
+            checkpointChannel = FileChannel.open(
+                    directory.resolve(CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+            );
+            ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_SIZE);
+            if (checkpointChannel.read(buffer, 0) < CHECKPOINT_SIZE) {
+                return 0L;
+            }
+            checkpointCrc.reset();
+            checkpointCrc.update(buffer.array(), 0, 8);
+            return (int) checkpointCrc.getValue() == buffer.getInt(8) ? buffer.getLong(0) : 0L;
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 저널 checkpoint 를 읽을 수 없습니다. " + directory, e);
+        }
+    }
+
+    private void closeCheckpoint() {
+        try {
+            checkpointChannel.close();
+        } catch (IOException e) {
+            log.warn("포인트 내역 저널 checkpoint 를 닫을 수 없습니다. directory={}", directory, e);
+        }
+    }
+
+    /**
+     * - ack-before-sync 이면 sync-interval 마다, 아니면 기록이 생기는 즉시 fsync 합니다.
+     * - fsync 가 실패하면 sync-interval 뒤에 다시 시도합니다. (기다리는 기록은 성공할 때까지 기다립니다.)
+     */
+    private void syncLoop() {
+        while (running) {
+            try {
+                if (ackBeforeSync) {
+                    TimeUnit.MILLISECONDS.sleep(syncIntervalMillis);
+                } else {
+                    awaitAppended();
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                sync();
+            } catch (UncheckedIOException e) {
+                log.error("포인트 내역 저널 fsync 에 실패했습니다.", e);
+                if (!ackBeforeSync) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(syncIntervalMillis);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void awaitAppended() throws InterruptedException {
+        syncStateLock.lock();
+        try {
+            while (running && lastId == syncedId) {
+                appended.await();
+            }
+        } finally {
+            syncStateLock.unlock();
+        }
+    }
+
+    private MappedByteBuffer segmentFor(long id) {
+        int index = segmentIndexOf(id);
+        MappedByteBuffer[] current = segments;
+        if (index < current.length) {
+            return current[index];
+        }
+        MappedByteBuffer segment = map(index);
+        segments = append(current, segment);
+        return segment;
+    }
+
+    private int segmentIndexOf(long id) {
+        return (int) ((id - 1) / recordsPerSegment);
+    }
+
+    private int offsetOf(long id) {
+        return (int) ((id - 1) % recordsPerSegment) * RECORD_SIZE;
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 저널 디렉터리를 만들 수 없습니다. " + directory, e);
+        }
+        MappedByteBuffer[] opened = new MappedByteBuffer[0];
+        for (int index = 0; Files.exists(segmentPath(index)); index++) {
+            opened = append(opened, map(index));
+        }
+        segments = opened;
+
+        byte[] header = new byte[CRC_OFFSET];
+        long capacity = (long) opened.length * recordsPerSegment;
+        long checkpointId = readCheckpoint();
+        // checkpoint 가 가리키는 레코드가 없거나 깨졌다면 (저널 파일을 직접 지운 경우 등) 처음부터 검사합니다.
+        long valid = checkpointId <= capacity && (checkpointId == 0 || isValid(checkpointId, header)) ? checkpointId : 0L;
+        long scanFrom = valid;
+        while (valid < capacity && isValid(valid + 1, header)) {
+            valid++;
+        }
+        lastId = valid;
+        truncateAfter(valid);
+        if (valid != checkpointId) {
+            // checkpoint 이후 레코드는 page cache 에만 있었을 수 있으므로 fsync 한 뒤 checkpoint 를 옮깁니다.
+            for (long id = scanFrom + 1; id <= valid; id += recordsPerSegment) {
+                segments[segmentIndexOf(id)].force();
+            }
+            if (valid > scanFrom) {
+                segments[segmentIndexOf(valid)].force();
+            }
+            writeCheckpoint(valid);
+        }
+        log.info("포인트 내역 저널을 열었습니다. directory={}, segments={}, checkpoint={}, scanned={}, lastId={}",
+                directory, segments.length, scanFrom, valid - scanFrom, valid);
+    }
+
+    private boolean isValid(long id, byte[] header) {
+        MappedByteBuffer segment = segments[segmentIndexOf(id)];
+        int offset = offsetOf(id);
+        if (segment.getLong(offset) != id) {
+            return false;
+        }
+        segment.get(offset, header);
+        crc.reset();
+        crc.update(header);
+        return (int) crc.getValue() == segment.getInt(offset + CRC_OFFSET)
+                && segment.get(offset + TYPE_OFFSET) >= 0 && segment.get(offset + TYPE_OFFSET) < TYPES.length;
+    }
+
+    /**
+     * 마지막 유효 레코드 뒤에 남은 (순서 없이 flush 되었을 수 있는) 기록을 지워, 이후 append 와 섞이지 않게 합니다.
+     */
+    private void truncateAfter(long id) {
+        MappedByteBuffer[] current = segments;
+        if (current.length == 0) {
+            return;
+        }
+        int keep = id == 0 ? 1 : segmentIndexOf(id) + 1;
+        int from = id == 0 ? 0 : offsetOf(id) + RECORD_SIZE;
+        MappedByteBuffer tail = current[keep - 1];
+        byte[] zeros = new byte[RECORD_SIZE];
+        for (int offset = from; offset < segmentBytes; offset += RECORD_SIZE) {
+            tail.put(offset, zeros);
+        }
+        tail.force();
+
+        for (int index = keep; index < current.length; index++) {
+            try {
+                Files.delete(segmentPath(index));
+            } catch (IOException e) {
+                throw new UncheckedIOException("포인트 내역 저널 세그먼트를 정리할 수 없습니다. index=" + index, e);
+            }
+        }
+        segments = Arrays.copyOf(current, keep);
+    }
+
+    private MappedByteBuffer map(int index) {
+        try (FileChannel channel = FileChannel.open(
+                segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+        )) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 저널 세그먼트를 열 수 없습니다. index=" + index, e);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format(SEGMENT_FILE_FORMAT, index));
+    }
+
+    private static MappedByteBuffer[] append(MappedByteBuffer[] current, MappedByteBuffer segment) {
+        MappedByteBuffer[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = segment;
+        return next;
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 내역 저장 설정
+ * - write-behind.enabled : 내역을 큐에 적재하고 백그라운드 writer 하나가 배치로 테이블에 저장 (테이블의 id 는 응답한 id 와 같습니다.)
+ * - write-behind.queue-capacity : 큐 크기
+ * - write-behind.batch-size : writer 가 한 번에 비우는 최대 건수
+ * - write-behind.offer-timeout-millis : 큐가 가득 찼을 때 기다리는 최대 시간, 넘기면 503 으로 거절
+ * - journal.enabled : 내역을 테이블 대신 memory-mapped 저널 파일에 저장하고, 기동 시 저널로 잔액을 복구 (write-behind 설정은 무시)
+ * - journal.directory : 세그먼트 파일을 둘 디렉터리
+ * - journal.segment-bytes : 세그먼트 파일 하나의 크기
+ * - journal.ack-before-sync : true 이면 fsync 를 기다리지 않고 응답 (OS 장애 시 최대 sync-interval 동안 응답한 내역 유실 가능)
+ *   false(기본)이면 fsync 가 끝난 뒤 응답하고, 동시에 기다리는 기록은 fsync 한 번으로 모아서 반영
+ * - journal.sync-interval-millis : ack-before-sync 일 때 모아서 fsync 하는 주기, 아니면 fsync 실패 후 다시 시도하기까지의 간격
+ * - columnar.enabled : 내역을 테이블 대신 컬럼 단위 chunk 에 저장 (메모리 저장소, journal 이 우선)
+ * - columnar.chunk-size : chunk 하나의 행 수 (2 의 거듭제곱으로 올림)
+ */
+@ConfigurationProperties(prefix = "point.history")
+public record PointHistoryProperties(
+        @DefaultValue WriteBehind writeBehind,
+        @DefaultValue Journal journal,
+        @DefaultValue Columnar columnar
+) {
+
+    public record WriteBehind(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("10000") int queueCapacity,
+            @DefaultValue("256") int batchSize,
+            @DefaultValue("100") long offerTimeoutMillis
+    ) {
+
+        public static WriteBehind disabled() {
+            return new WriteBehind(false, 10000, 256, 100);
+        }
+    }
+
+    public record Journal(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("data/journal") String directory,
+            @DefaultValue("67108864") int segmentBytes,
+            @DefaultValue("10") long syncIntervalMillis,
+            @DefaultValue("false") boolean ackBeforeSync
+    ) {
+
+        public static Journal disabled() {
+            return new Journal(false, "data/journal", 67108864, 10, false);
+        }
+    }
+
+    public record Columnar(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("8192") int chunkSize
+    ) {
+
+        public static Columnar disabled() {
+            return new Columnar(false, 8192);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.concurrent.ConcurrentLongMap;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryAggregate;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointStatistics;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 내역 저장소(PointHistoryStore) 앞단에서 사용자 등록과 지표를 담당합니다.
+ * - 기본은 PointHistoryTable + 힙 인덱스, journal.enabled 이면 memory-mapped 저널, columnar.enabled 이면 컬럼 chunk 에 저장합니다.
+ * - 사용자별 조회가 전체 내역 크기와 무관하게 동작합니다.
+ * - 최초 저장 시 UserRegistry 에 사용자를 등록하고, 저널에서 복구한 사용자는 기동 시 등록합니다.
+ * - 사용자별 통계(UserHistoryRollup)를 저장 시점에 누적하고, 저널에서 복구한 내역은 기동 시 한 번 누적합니다.
+ * - 잔액 스냅샷을 사용하면 기동 시 스냅샷의 인덱스 / 통계를 가져오고 그 이후 내역만 저널에서 읽습니다.
+ *   (기동 시간이 전체 내역 수가 아니라 사용자 수와 마지막 스냅샷 이후 내역 수에 비례합니다.)
+ * - 인덱스가 저장소와 어긋나지 않도록 내역 저장은 항상 이 Repository 를 통해야 합니다.
+ */
+@Component
+public class PointHistoryRepository {
+
+    private final PointHistoryStore store;
+    private final UserRegistry userRegistry;
+    private final LongAdder historyCount = new LongAdder();
+    private final ConcurrentLongMap<UserHistoryRollup> rollups = new ConcurrentLongMap<>();
+
+    public PointHistoryRepository(
+            PointHistoryTable pointHistoryTable,
+            UserRegistry userRegistry,
+            PointHistoryProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this(pointHistoryTable, userRegistry, properties, BalanceSnapshotProperties.disabled(), meterRegistry);
+    }
+
+    @Autowired
+    public PointHistoryRepository(
+            PointHistoryTable pointHistoryTable,
+            UserRegistry userRegistry,
+            PointHistoryProperties properties,
+            BalanceSnapshotProperties snapshotProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRegistry = userRegistry;
+        BalanceSnapshot snapshot = BalanceSnapshot.empty();
+        if (properties.journal().enabled()) {
+            PointHistoryJournal journal = createJournal(properties.journal(), meterRegistry);
+            if (snapshotProperties.enabled()) {
+                snapshot = new BalanceSnapshotFiles(snapshotProperties).latest(journal.lastId()).orElseGet(BalanceSnapshot::empty);
+            }
+            this.store = new JournalPointHistoryStore(journal, snapshot);
+        } else if (properties.columnar().enabled()) {
+            this.store = new ColumnarPointHistoryStore(properties.columnar().chunkSize());
+        } else {
+            this.store = createTableStore(pointHistoryTable, properties.writeBehind(), meterRegistry);
+        }
+
+        historyCount.add(store.recoveredCount());
+        userRegistry.registerAll(store.recoveredUserIds());
+        for (int i = 0; i < snapshot.size(); i++) {
+            UserHistoryRollup rollup = snapshot.rollups()[i];
+            rollups.computeIfAbsent(snapshot.userIds()[i], key -> rollup);
+        }
+        if (store.recoveredCount() > snapshot.lastHistoryId()) {
+            store.replay(snapshot.lastHistoryId(), pointHistory -> rollupOf(pointHistory.userId())
+                    .add(pointHistory.type(), pointHistory.amount(), pointHistory.updateMillis()));
+        }
+
+        Gauge.builder("point.history.size", historyCount, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("point.history.pending", this, PointHistoryRepository::pendingWriteCount).register(meterRegistry);
+    }
+
+    private static PointHistoryStore createTableStore(
+            PointHistoryTable pointHistoryTable,
+            PointHistoryProperties.WriteBehind properties,
+            MeterRegistry meterRegistry
+    ) {
+        Timer insertTimer = Timer.builder("point.table.call")
+                .tag("table", "point_history")
+                .tag("method", "insert")
+                .register(meterRegistry);
+        return new TablePointHistoryStore(pointHistoryTable, properties, insertTimer);
+    }
+
+    private static PointHistoryJournal createJournal(PointHistoryProperties.Journal properties, MeterRegistry meterRegistry) {
+        Timer syncTimer = Timer.builder("point.journal.sync").register(meterRegistry);
+        PointHistoryJournal journal = new PointHistoryJournal(properties, syncTimer);
+        Gauge.builder("point.journal.unsynced", journal, PointHistoryJournal::unsyncedCount).register(meterRegistry);
+        return journal;
+    }
+
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        // 등록을 먼저 해야 내역이 보이는 시점에 사용자 존재 확인이 실패하지 않습니다.
+        userRegistry.register(userId);
+        PointHistory pointHistory = store.insert(userId, amount, type, updateMillis);
+        historyCount.increment();
+        rollupOf(userId).add(type, amount, updateMillis);
+        return pointHistory;
+    }
+
+    /**
+     * batch 의 내역을 순서대로 한 번에 저장합니다. (저널은 fsync 를 한 번만 기다리고, write-behind 는 큐에 적재만 합니다.)
+     * - 같은 사용자의 내역은 batch 안의 순서대로 저장됩니다. batch 에 담긴 사용자의 insert 는 호출자가 직렬화합니다.
+     * - 실패하면 batch.insertedCount() 건까지만 저장된 것이고, 통계도 그만큼만 반영합니다.
+     */
+    public void insertAll(PointHistoryBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            userRegistry.register(batch.userId(i));
+        }
+        try {
+            store.insertAll(batch);
+        } finally {
+            for (int i = 0; i < batch.insertedCount(); i++) {
+                historyCount.increment();
+                rollupOf(batch.userId(i)).add(batch.type(i), batch.amount(i), batch.updateMillis(i));
+            }
+        }
+    }
+
+    private UserHistoryRollup rollupOf(long userId) {
+        return rollups.computeIfAbsent(userId, key -> new UserHistoryRollup());
+    }
+
+    public List<PointHistory> findAllByUserId(long userId) {
+        return store.findAllByUserId(userId);
+    }
+
+    public List<PointHistory> findByUserId(long userId, PointHistoryQuery query) {
+        List<PointHistory> pointHistories = new ArrayList<>(Math.min(query.limit(), PointHistoryQuery.MAX_LIMIT));
+        forEachByUserId(userId, query, pointHistories::add);
+        return pointHistories;
+    }
+
+    public void forEachByUserId(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        store.forEachByUserId(userId, query, consumer);
+    }
+
+    /**
+     * 조건(afterId / type / 기간)에 맞는 사용자 내역의 건수와 충전 / 사용 합계 (limit 는 무시합니다.)
+     */
+    public PointHistoryAggregate aggregateByUserId(long userId, PointHistoryQuery query) {
+        if (query.afterId() == 0L && query.type() == null
+                && query.fromMillis() == Long.MIN_VALUE && query.toMillis() == Long.MAX_VALUE) {
+            // 조건이 없으면 누적된 통계로 바로 응답합니다.
+            PointStatistics statistics = findStatisticsByUserId(userId, LocalDate.MAX, LocalDate.MAX);
+            return new PointHistoryAggregate(statistics.count(), statistics.chargedAmount(), statistics.usedAmount());
+        }
+        return store.aggregateByUserId(userId, query);
+    }
+
+    /**
+     * 사용자의 누적 통계와 from ~ to (양 끝 포함, null 이면 제한 없음) 사이의 일 단위 합계
+     */
+    public PointStatistics findStatisticsByUserId(long userId, LocalDate from, LocalDate to) {
+        UserHistoryRollup rollup = rollups.get(userId);
+        return rollup == null ? PointStatistics.empty(userId) : rollup.toStatistics(userId, from, to);
+    }
+
+    /**
+     * 기동 시 저장소에 이미 있던 내역 중 afterId 이후의 것을 id 순서대로 전달합니다. (잔액 복구용)
+     */
+    public void replay(long afterId, Consumer<PointHistory> consumer) {
+        store.replay(afterId, consumer);
+    }
+
+    /**
+     * fsync 된 내역 중 afterId 이후의 것을 id 순서대로 전달합니다. (잔액 스냅샷용)
+     */
+    public void forEachDurable(long afterId, Consumer<PointHistory> consumer) {
+        store.forEachDurable(afterId, consumer);
+    }
+
+    public long recoveredCount() {
+        return store.recoveredCount();
+    }
+
+    public int pendingWriteCount() {
+        return store.pendingWriteCount();
+    }
+
+    @PreDestroy
+    public void close() {
+        store.close();
+    }
+}
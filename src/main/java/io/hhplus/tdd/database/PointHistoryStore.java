@@ -0,0 +1,70 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryAggregate;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * PointHistoryRepository 가 사용하는 내역 저장소
+ * - 같은 사용자의 insert 는 호출자가 직렬화한다고 가정합니다. (사용자별 내역이 id 순서를 유지)
+ */
+interface PointHistoryStore {
+
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * batch 의 내역을 순서대로 저장하고, 한 건 저장할 때마다 batch.inserted() 를 호출합니다.
+     */
+    default void insertAll(PointHistoryBatch batch) {
+        for (int i = batch.insertedCount(); i < batch.size(); i++) {
+            insert(batch.userId(i), batch.amount(i), batch.type(i), batch.updateMillis(i));
+            batch.inserted();
+        }
+    }
+
+    List<PointHistory> findAllByUserId(long userId);
+
+    void forEachByUserId(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer);
+
+    /**
+     * 조건(limit 제외)에 맞는 사용자 내역의 합계
+     */
+    default PointHistoryAggregate aggregateByUserId(long userId, PointHistoryQuery query) {
+        long[] totals = new long[3];
+        PointHistoryQuery unlimited = new PointHistoryQuery(query.afterId(), Integer.MAX_VALUE, query.type(), query.fromMillis(), query.toMillis());
+        forEachByUserId(userId, unlimited, pointHistory -> {
+            totals[0]++;
+            totals[pointHistory.type() == TransactionType.CHARGE ? 1 : 2] += pointHistory.amount();
+        });
+        return new PointHistoryAggregate(totals[0], totals[1], totals[2]);
+    }
+
+    /**
+     * 기동 전에 이미 저장되어 있던 내역 중 afterId 이후의 것을 id 순서대로 전달합니다.
+     */
+    void replay(long afterId, Consumer<PointHistory> consumer);
+
+    /**
+     * 디스크에 fsync 된 내역 중 afterId 이후의 것을 id 순서대로 전달합니다. (스냅샷용)
+     * - 영속 저장소가 아니면 아무것도 전달하지 않습니다.
+     */
+    void forEachDurable(long afterId, Consumer<PointHistory> consumer);
+
+    /**
+     * 기동 시 이미 저장되어 있던 내역 수와 사용자 목록
+     * - id 는 1 부터 빈틈없이 증가하므로 내역 수가 곧 마지막 id 입니다.
+     */
+    long recoveredCount();
+
+    Iterable<Long> recoveredUserIds();
+
+    default int pendingWriteCount() {
+        return 0;
+    }
+
+    void close();
+}
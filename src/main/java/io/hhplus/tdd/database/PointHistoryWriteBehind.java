@@ -0,0 +1,114 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.HistoryBacklogFullException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역을 bounded 큐에 적재하고, 백그라운드 writer 스레드가 배치 단위로 주입된 PointHistoryTable 에 저장합니다.
+ * - PointHistoryTable 은 thread-safe 하지 않고 받은 순서대로 id 를 매기므로, writer 는 하나만 둡니다.
+ * - id 발급과 적재를 같은 lock 안에서 하므로 큐 순서가 곧 id 순서이고, 테이블에도 같은 순서로 저장되어
+ *   응답한 id 와 테이블의 id 가 같습니다. (테이블에는 이 writer 만 저장해야 합니다.)
+ * - 큐가 가득 차면 offer-timeout 동안만 기다리고, 그래도 자리가 없으면 HistoryBacklogFullException 으로 거절합니다.
+ */
+class PointHistoryWriteBehind {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+    private final PointHistoryTable pointHistoryTable;
+    private final BlockingQueue<PointHistory> queue;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final Timer insertTimer;
+    private final ReentrantLock offerLock = new ReentrantLock();
+    // offerLock 안에서만 읽고 씁니다.
+    private long lastId;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    PointHistoryWriteBehind(PointHistoryTable pointHistoryTable, PointHistoryProperties.WriteBehind properties, Timer insertTimer) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.queueCapacity()));
+        this.batchSize = properties.batchSize();
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.offerTimeoutMillis());
+        this.insertTimer = insertTimer;
+        this.writer = new Thread(this::drainLoop, "point-history-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    PointHistory enqueue(long userId, long amount, TransactionType type, long updateMillis) {
+        long deadlineNanos = System.nanoTime() + offerTimeoutNanos;
+        try {
+            if (!offerLock.tryLock(offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw HistoryBacklogFullException.INSTANCE;
+            }
+            try {
+                PointHistory pointHistory = new PointHistory(lastId + 1, userId, amount, type, updateMillis);
+                // 큐에 자리가 있으면 바로 들어가므로 lock 은 큐가 가득 찼을 때만 오래 잡힙니다. (그때는 모두 같은 자리를 기다립니다.)
+                if (!queue.offer(pointHistory, deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw HistoryBacklogFullException.INSTANCE;
+                }
+                lastId = pointHistory.id();
+                return pointHistory;
+            } finally {
+                offerLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw HistoryBacklogFullException.INSTANCE;
+        }
+    }
+
+    int pendingCount() {
+        return queue.size();
+    }
+
+    void close() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        List<PointHistory> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PointHistory first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PointHistory> batch) {
+        for (PointHistory pending : batch) {
+            long startNanos = System.nanoTime();
+            try {
+                pointHistoryTable.insert(pending.userId(), pending.amount(), pending.type(), pending.updateMillis());
+            } finally {
+                insertTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
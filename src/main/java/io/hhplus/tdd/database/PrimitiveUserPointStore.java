@@ -0,0 +1,214 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long 배열 하나에 [id, point, updateMillis] 를 나란히 저장하는 open addressing(linear probing) 잔액 저장소
+ * - 사용자당 객체 없이 24 bytes(load factor 0.75 기준 약 32 bytes)만 사용하고, GC 가 따라갈 참조가 없습니다.
+ * - 세그먼트별 StampedLock 으로 쓰기를 직렬화하고, 읽기는 낙관적 읽기 후 검증에 실패할 때만 read lock 을 잡습니다.
+ * - UserPoint 는 findById / save 결과로 돌려줄 때만 만듭니다.
+ * - 0 은 빈 슬롯 표시로 사용하므로 저장할 수 없습니다. (API 는 userId 를 1 이상으로 검증합니다.)
+ */
+class PrimitiveUserPointStore implements UserPointStore {
+
+    private static final long EMPTY = 0L;
+    private static final int STRIDE = 3;
+    private static final int POINT = 1;
+    private static final int UPDATE_MILLIS = 2;
+    private static final int MINIMUM_SEGMENT_CAPACITY = 16;
+    // 배열 길이(capacity * STRIDE)가 int 범위를 넘지 않는 최대 세그먼트 용량
+    private static final int MAXIMUM_SEGMENT_CAPACITY = 1 << 28;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    PrimitiveUserPointStore(int segmentCount, int initialCapacity) {
+        int count = Integer.highestOneBit(Math.max(1, segmentCount - 1) << 1);
+        int segmentCapacity = Math.max(MINIMUM_SEGMENT_CAPACITY, initialCapacity / count);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        this.segmentMask = count - 1;
+    }
+
+    @Override
+    public UserPoint findById(long id) {
+        if (id == EMPTY) {
+            return UserPoint.empty(id);
+        }
+        long hash = mix(id);
+        return segmentFor(hash).find(id, hash);
+    }
+
+    @Override
+    public long findPointById(long id) {
+        if (id == EMPTY) {
+            return 0L;
+        }
+        long hash = mix(id);
+        return segmentFor(hash).findPoint(id, hash);
+    }
+
+    @Override
+    public UserPoint save(long id, long point) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("0 은 저장할 수 없습니다.");
+        }
+        long updateMillis = System.currentTimeMillis();
+        long hash = mix(id);
+        segmentFor(hash).put(id, hash, point, updateMillis);
+        return new UserPoint(id, point, updateMillis);
+    }
+
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 32) & segmentMask];
+    }
+
+    // ConcurrentLongSet 과 같은 murmur3 finalizer
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        // 낙관적 읽기는 validate 로 확인하므로 volatile 이 필요 없습니다.
+        private long[] slots;
+        private volatile int size;
+
+        Segment(int capacity) {
+            this.slots = new long[tableSizeFor(capacity) * STRIDE];
+        }
+
+        UserPoint find(long id, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            long[] current = slots;
+            int slot = slotOf(current, id, hash);
+            long point = slot < 0 ? 0L : current[slot + POINT];
+            long updateMillis = slot < 0 ? 0L : current[slot + UPDATE_MILLIS];
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    current = slots;
+                    slot = slotOf(current, id, hash);
+                    point = slot < 0 ? 0L : current[slot + POINT];
+                    updateMillis = slot < 0 ? 0L : current[slot + UPDATE_MILLIS];
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return slot < 0 ? UserPoint.empty(id) : new UserPoint(id, point, updateMillis);
+        }
+
+        long findPoint(long id, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            long[] current = slots;
+            int slot = slotOf(current, id, hash);
+            long point = slot < 0 ? 0L : current[slot + POINT];
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    current = slots;
+                    slot = slotOf(current, id, hash);
+                    point = slot < 0 ? 0L : current[slot + POINT];
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return point;
+        }
+
+        void put(long id, long hash, long point, long updateMillis) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = slotOf(slots, id, hash);
+                if (slot < 0) {
+                    if ((size + 1) * 4L > capacityOf(slots) * 3L) {
+                        slots = resize(slots);
+                    }
+                    slot = emptySlotOf(slots, hash);
+                    slots[slot] = id;
+                    size = size + 1;
+                }
+                slots[slot + POINT] = point;
+                slots[slot + UPDATE_MILLIS] = updateMillis;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * id 가 있는 슬롯의 시작 위치, 없으면 -1
+         * - 낙관적 읽기 중 배열이 바뀌는 중일 수 있으므로 탐색 횟수를 용량으로 제한합니다.
+         */
+        private static int slotOf(long[] current, long id, long hash) {
+            int capacity = capacityOf(current);
+            int mask = capacity - 1;
+            int index = (int) hash & mask;
+            for (int probe = 0; probe < capacity; probe++) {
+                long key = current[index * STRIDE];
+                if (key == id) {
+                    return index * STRIDE;
+                }
+                if (key == EMPTY) {
+                    return -1;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int emptySlotOf(long[] current, long hash) {
+            int mask = capacityOf(current) - 1;
+            int index = (int) hash & mask;
+            while (current[index * STRIDE] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            return index * STRIDE;
+        }
+
+        private static long[] resize(long[] current) {
+            if (capacityOf(current) >= MAXIMUM_SEGMENT_CAPACITY) {
+                throw new IllegalStateException("잔액 저장소 세그먼트 용량을 초과했습니다. segments 설정을 늘려주세요.");
+            }
+            long[] next = new long[current.length << 1];
+            for (int slot = 0; slot < current.length; slot += STRIDE) {
+                long id = current[slot];
+                if (id != EMPTY) {
+                    int target = emptySlotOf(next, mix(id));
+                    next[target] = id;
+                    next[target + POINT] = current[slot + POINT];
+                    next[target + UPDATE_MILLIS] = current[slot + UPDATE_MILLIS];
+                }
+            }
+            return next;
+        }
+
+        private static int capacityOf(long[] current) {
+            return current.length / STRIDE;
+        }
+
+        private static int tableSizeFor(int capacity) {
+            // load factor 0.75 를 넘지 않도록 여유를 두고 2 의 거듭제곱으로 맞춥니다.
+            int required = (int) Math.min(MAXIMUM_SEGMENT_CAPACITY, (capacity * 4L + 2) / 3);
+            return Integer.highestOneBit(Math.max(1, required - 1) << 1);
+        }
+    }
+}
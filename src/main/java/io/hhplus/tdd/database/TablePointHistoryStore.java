@@ -0,0 +1,95 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.concurrent.ConcurrentLongMap;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * PointHistoryTable 에 저장하고, 사용자별 내역 인덱스(userId -> 세그먼트)를 힙에 유지합니다.
+ * - write-behind 모드에서는 테이블 저장 전에 인덱스에 먼저 반영하므로, 아직 flush 되지 않은 내역도 조회됩니다.
+ * - 테이블은 메모리에만 있으므로 기동 시 replay 할 내역이 없습니다.
+ */
+class TablePointHistoryStore implements PointHistoryStore {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryWriteBehind writeBehind;
+    private final Timer insertTimer;
+    private final ConcurrentLongMap<UserHistorySegment> segments = new ConcurrentLongMap<>();
+
+    TablePointHistoryStore(PointHistoryTable pointHistoryTable, PointHistoryProperties.WriteBehind properties, Timer insertTimer) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.insertTimer = insertTimer;
+        this.writeBehind = properties.enabled()
+                ? new PointHistoryWriteBehind(pointHistoryTable, properties, insertTimer)
+                : null;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = writeBehind == null
+                ? insertToTable(userId, amount, type, updateMillis)
+                : writeBehind.enqueue(userId, amount, type, updateMillis);
+        segments.computeIfAbsent(userId, key -> new UserHistorySegment()).append(pointHistory);
+        return pointHistory;
+    }
+
+    // 값을 캡처하는 람다를 만들지 않도록 Timer.record(Supplier) 대신 직접 측정합니다.
+    private PointHistory insertToTable(long userId, long amount, TransactionType type, long updateMillis) {
+        long startNanos = System.nanoTime();
+        try {
+            return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        } finally {
+            insertTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserHistorySegment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.snapshot();
+    }
+
+    @Override
+    public void forEachByUserId(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        UserHistorySegment segment = segments.get(userId);
+        if (segment != null) {
+            segment.forEach(query, consumer);
+        }
+    }
+
+    @Override
+    public void replay(long afterId, Consumer<PointHistory> consumer) {
+    }
+
+    @Override
+    public void forEachDurable(long afterId, Consumer<PointHistory> consumer) {
+    }
+
+    @Override
+    public long recoveredCount() {
+        return 0;
+    }
+
+    @Override
+    public Iterable<Long> recoveredUserIds() {
+        return List.of();
+    }
+
+    @Override
+    public int pendingWriteCount() {
+        return writeBehind == null ? 0 : writeBehind.pendingCount();
+    }
+
+    @Override
+    public void close() {
+        if (writeBehind != null) {
+            writeBehind.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserPointTable 앞단의 read-through / write-through 잔액 캐시
+ * - 조회는 캐시를 먼저 확인하고, 미스일 때만 테이블을 조회해 적재합니다.
+ * - 저장은 테이블 저장 후 캐시를 갱신하므로, 사용자 lock 안에서 호출하면 이후 조회가 오래된 값을 보지 않습니다.
+ * - 테이블 호출 시간은 값을 캡처하는 람다 없이 직접 측정합니다.
+ * - 기동 시 복구한 잔액은 테이블(호출마다 지연)에 쓰지 않고 restored 에 둡니다.
+ *   조회는 캐시 → restored → 테이블 순으로 확인하고, 이후 저장하면 restored 에서 제거합니다.
+ */
+class TableUserPointStore implements UserPointStore {
+
+    private final UserPointTable userPointTable;
+    private final UserPointCache cache;
+    private final Timer selectTimer;
+    private final Timer insertOrUpdateTimer;
+    private final ConcurrentHashMap<Long, UserPoint> restored = new ConcurrentHashMap<>();
+
+    TableUserPointStore(UserPointTable userPointTable, BalanceCacheProperties properties, Timer selectTimer, Timer insertOrUpdateTimer) {
+        this.userPointTable = userPointTable;
+        this.cache = properties.enabled() ? new UserPointCache(properties.maximumSize()) : null;
+        this.selectTimer = selectTimer;
+        this.insertOrUpdateTimer = insertOrUpdateTimer;
+    }
+
+    @Override
+    public UserPoint findById(long id) {
+        if (cache == null) {
+            return restoredOrSelect(id);
+        }
+        UserPoint cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.stamp(id);
+        UserPoint userPoint = restoredOrSelect(id);
+        cache.putIfUnchanged(userPoint, stamp);
+        return userPoint;
+    }
+
+    @Override
+    public long findPointById(long id) {
+        return findById(id).point();
+    }
+
+    @Override
+    public UserPoint save(long id, long point) {
+        long startNanos = System.nanoTime();
+        UserPoint userPoint;
+        try {
+            userPoint = userPointTable.insertOrUpdate(id, point);
+        } finally {
+            insertOrUpdateTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        if (cache != null) {
+            cache.put(userPoint);
+        }
+        if (!restored.isEmpty()) {
+            restored.remove(id);
+        }
+        return userPoint;
+    }
+
+    @Override
+    public void restore(long id, long point) {
+        restored.put(id, new UserPoint(id, point, System.currentTimeMillis()));
+    }
+
+    private UserPoint restoredOrSelect(long id) {
+        if (!restored.isEmpty()) {
+            UserPoint userPoint = restored.get(id);
+            if (userPoint != null) {
+                return userPoint;
+            }
+        }
+        return select(id);
+    }
+
+    private UserPoint select(long id) {
+        long startNanos = System.nanoTime();
+        try {
+            return userPointTable.selectById(id);
+        } finally {
+            selectTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public BalanceCacheStats cacheStats() {
+        return cache == null ? BalanceCacheStats.disabled() : cache.stats();
+    }
+}
@@ -0,0 +1,162 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 한 사용자의 내역 id 만 담는 append-only 인덱스
+ * - 내역 본문은 저널 / 컬럼 저장소에 두고, 조회 시 id 로 읽어옵니다.
+ * - 쓰기는 lock 으로 직렬화하고, 읽기는 lock 없이 volatile size 까지만 조회합니다.
+ * - 스냅샷에서 복구한 인덱스는 마지막 id 와 건수만 들고 있다가, 처음 조회할 때 previousId 로 거슬러 올라가 채웁니다.
+ *   (기동 시간이 전체 내역 수가 아니라 사용자 수에 비례합니다.) 채우기 전의 append 는 마지막 id 와 건수만 바꿉니다.
+ */
+class UserHistoryIds {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile long[] ids;
+    private volatile int size;
+
+    // 아직 채우지 않은 인덱스 (appendLock 으로 보호, loaded 가 true 가 되면 사용하지 않습니다.)
+    private volatile boolean loaded;
+    private LongUnaryOperator previousId;
+    private long pendingLastId;
+    private int pendingCount;
+
+    UserHistoryIds() {
+        this.ids = new long[INITIAL_CAPACITY];
+        this.loaded = true;
+    }
+
+    private UserHistoryIds(long lastId, int count, LongUnaryOperator previousId) {
+        this.ids = new long[0];
+        this.pendingLastId = lastId;
+        this.pendingCount = count;
+        this.previousId = previousId;
+    }
+
+    /**
+     * lastId 부터 previousId 로 거슬러 올라가 count 건을 처음 조회할 때 채우는 인덱스
+     */
+    static UserHistoryIds recovered(long lastId, int count, LongUnaryOperator previousId) {
+        return new UserHistoryIds(lastId, count, previousId);
+    }
+
+    void append(long id) {
+        appendLock.lock();
+        try {
+            if (!loaded) {
+                pendingLastId = id;
+                pendingCount++;
+                return;
+            }
+            long[] current = ids;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length << 1);
+                ids = current;
+            }
+            current[size] = id;
+            // size 갱신이 마지막이어야 읽기 스레드가 채워진 칸만 보게 됩니다.
+            size = size + 1;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막으로 추가된 id (없으면 0)
+     */
+    long lastId() {
+        appendLock.lock();
+        try {
+            return loaded ? (size == 0 ? 0L : ids[size - 1]) : pendingLastId;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    List<PointHistory> snapshot(LongFunction<PointHistory> reader) {
+        ensureLoaded();
+        int count = size;
+        long[] current = ids;
+        List<PointHistory> pointHistories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            pointHistories.add(reader.apply(current[i]));
+        }
+        return Collections.unmodifiableList(pointHistories);
+    }
+
+    void forEach(PointHistoryQuery query, LongFunction<PointHistory> reader, Consumer<PointHistory> consumer) {
+        ensureLoaded();
+        int count = size;
+        long[] current = ids;
+        int remaining = query.limit();
+        for (int i = firstIndexAfter(current, count, query.afterId()); i < count && remaining > 0; i++) {
+            PointHistory pointHistory = reader.apply(current[i]);
+            if (query.matches(pointHistory)) {
+                consumer.accept(pointHistory);
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * afterId 이후의 id 를 저장 순서대로 visitor 가 false 를 반환할 때까지 전달합니다. (내역을 만들지 않는 scan 용)
+     */
+    void forEachId(long afterId, LongPredicate visitor) {
+        ensureLoaded();
+        int count = size;
+        long[] current = ids;
+        for (int i = firstIndexAfter(current, count, afterId); i < count; i++) {
+            if (!visitor.test(current[i])) {
+                return;
+            }
+        }
+    }
+
+    private static int firstIndexAfter(long[] current, int count, long afterId) {
+        int index = Arrays.binarySearch(current, 0, count, afterId + 1);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    int size() {
+        ensureLoaded();
+        return size;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long[] loadedIds = new long[Math.max(INITIAL_CAPACITY, pendingCount)];
+            long id = pendingLastId;
+            for (int i = pendingCount - 1; i >= 0; i--) {
+                loadedIds[i] = id;
+                id = previousId.applyAsLong(id);
+            }
+            ids = loadedIds;
+            size = pendingCount;
+            previousId = null;
+            // loaded 갱신이 마지막이어야 lock 없이 읽는 스레드가 채워진 배열만 보게 됩니다.
+            loaded = true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
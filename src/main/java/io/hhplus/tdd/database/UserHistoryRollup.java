@@ -0,0 +1,204 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointDailyStatistics;
+import io.hhplus.tdd.point.PointStatistics;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 한 사용자의 내역 통계를 저장 시점에 누적합니다. (조회 시 내역을 scan 하지 않음)
+ * - 전체 합계는 O(1), 일 단위 합계는 O(일 수)로 조회합니다.
+ * - 일 단위 합계는 날짜 오름차순의 long 배열에 두고, 대부분의 내역은 마지막 날짜에 누적되거나 뒤에 덧붙습니다.
+ * - 누적과 조회는 같은 lock 을 사용하므로 조회 결과의 합계와 일 단위 합계가 서로 어긋나지 않습니다.
+ * - 잔액 스냅샷에 함께 저장해, 기동 시 스냅샷 이후 내역만 다시 누적합니다.
+ */
+class UserHistoryRollup {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int INITIAL_DAYS = 4;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long count;
+    private long chargedAmount;
+    private long usedAmount;
+    private long firstUpdateMillis = Long.MAX_VALUE;
+    private long lastUpdateMillis = Long.MIN_VALUE;
+
+    private long[] epochDays = new long[INITIAL_DAYS];
+    private long[] dayCounts = new long[INITIAL_DAYS];
+    private long[] dayChargedAmounts = new long[INITIAL_DAYS];
+    private long[] dayUsedAmounts = new long[INITIAL_DAYS];
+    private int dayCount;
+
+    void add(TransactionType type, long amount, long updateMillis) {
+        lock.lock();
+        try {
+            boolean charge = type == TransactionType.CHARGE;
+            count++;
+            if (charge) {
+                chargedAmount += amount;
+            } else {
+                usedAmount += amount;
+            }
+            firstUpdateMillis = Math.min(firstUpdateMillis, updateMillis);
+            lastUpdateMillis = Math.max(lastUpdateMillis, updateMillis);
+
+            int day = dayIndexOf(Math.floorDiv(updateMillis, DAY_MILLIS));
+            dayCounts[day]++;
+            if (charge) {
+                dayChargedAmounts[day] += amount;
+            } else {
+                dayUsedAmounts[day] += amount;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long count() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    UserHistoryRollup copy() {
+        UserHistoryRollup copy = new UserHistoryRollup();
+        lock.lock();
+        try {
+            copy.count = count;
+            copy.chargedAmount = chargedAmount;
+            copy.usedAmount = usedAmount;
+            copy.firstUpdateMillis = firstUpdateMillis;
+            copy.lastUpdateMillis = lastUpdateMillis;
+            copy.epochDays = Arrays.copyOf(epochDays, epochDays.length);
+            copy.dayCounts = Arrays.copyOf(dayCounts, dayCounts.length);
+            copy.dayChargedAmounts = Arrays.copyOf(dayChargedAmounts, dayChargedAmounts.length);
+            copy.dayUsedAmounts = Arrays.copyOf(dayUsedAmounts, dayUsedAmounts.length);
+            copy.dayCount = dayCount;
+        } finally {
+            lock.unlock();
+        }
+        return copy;
+    }
+
+    /**
+     * count(8) chargedAmount(8) usedAmount(8) firstUpdateMillis(8) lastUpdateMillis(8) dayCount(4)
+     * [epochDay(8) count(8) chargedAmount(8) usedAmount(8)] * dayCount
+     */
+    void writeTo(DataOutput out) throws IOException {
+        lock.lock();
+        try {
+            out.writeLong(count);
+            out.writeLong(chargedAmount);
+            out.writeLong(usedAmount);
+            out.writeLong(firstUpdateMillis);
+            out.writeLong(lastUpdateMillis);
+            out.writeInt(dayCount);
+            for (int i = 0; i < dayCount; i++) {
+                out.writeLong(epochDays[i]);
+                out.writeLong(dayCounts[i]);
+                out.writeLong(dayChargedAmounts[i]);
+                out.writeLong(dayUsedAmounts[i]);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static UserHistoryRollup readFrom(DataInput in) throws IOException {
+        UserHistoryRollup rollup = new UserHistoryRollup();
+        rollup.count = in.readLong();
+        rollup.chargedAmount = in.readLong();
+        rollup.usedAmount = in.readLong();
+        rollup.firstUpdateMillis = in.readLong();
+        rollup.lastUpdateMillis = in.readLong();
+        int dayCount = in.readInt();
+        if (dayCount < 0) {
+            throw new IOException("일 단위 합계 수가 올바르지 않습니다. dayCount=" + dayCount);
+        }
+        int capacity = Math.max(INITIAL_DAYS, dayCount);
+        rollup.epochDays = new long[capacity];
+        rollup.dayCounts = new long[capacity];
+        rollup.dayChargedAmounts = new long[capacity];
+        rollup.dayUsedAmounts = new long[capacity];
+        for (int i = 0; i < dayCount; i++) {
+            rollup.epochDays[i] = in.readLong();
+            rollup.dayCounts[i] = in.readLong();
+            rollup.dayChargedAmounts[i] = in.readLong();
+            rollup.dayUsedAmounts[i] = in.readLong();
+        }
+        rollup.dayCount = dayCount;
+        return rollup;
+    }
+
+    /**
+     * from ~ to (양 끝 포함, null 이면 제한 없음) 사이의 일 단위 합계와 전체 합계
+     */
+    PointStatistics toStatistics(long userId, LocalDate from, LocalDate to) {
+        long fromEpochDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toEpochDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        lock.lock();
+        try {
+            if (count == 0) {
+                return PointStatistics.empty(userId);
+            }
+            List<PointDailyStatistics> days = new ArrayList<>();
+            for (int i = firstDayIndexFrom(fromEpochDay); i < dayCount && epochDays[i] <= toEpochDay; i++) {
+                days.add(new PointDailyStatistics(LocalDate.ofEpochDay(epochDays[i]), dayCounts[i], dayChargedAmounts[i], dayUsedAmounts[i]));
+            }
+            return new PointStatistics(userId, count, chargedAmount, usedAmount, firstUpdateMillis, lastUpdateMillis, Collections.unmodifiableList(days));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int firstDayIndexFrom(long fromEpochDay) {
+        int index = Arrays.binarySearch(epochDays, 0, dayCount, fromEpochDay);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    // epochDay 칸의 위치를 찾고, 없으면 정렬 순서를 유지하며 새 칸을 만듭니다.
+    private int dayIndexOf(long epochDay) {
+        if (dayCount > 0 && epochDays[dayCount - 1] == epochDay) {
+            return dayCount - 1;
+        }
+        int index = dayCount == 0 || epochDays[dayCount - 1] < epochDay
+                ? dayCount
+                : Arrays.binarySearch(epochDays, 0, dayCount, epochDay);
+        if (index >= 0 && index < dayCount) {
+            return index;
+        }
+        int insertAt = index < 0 ? -index - 1 : index;
+        if (dayCount == epochDays.length) {
+            int capacity = epochDays.length << 1;
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            dayCounts = Arrays.copyOf(dayCounts, capacity);
+            dayChargedAmounts = Arrays.copyOf(dayChargedAmounts, capacity);
+            dayUsedAmounts = Arrays.copyOf(dayUsedAmounts, capacity);
+        }
+        int moved = dayCount - insertAt;
+        System.arraycopy(epochDays, insertAt, epochDays, insertAt + 1, moved);
+        System.arraycopy(dayCounts, insertAt, dayCounts, insertAt + 1, moved);
+        System.arraycopy(dayChargedAmounts, insertAt, dayChargedAmounts, insertAt + 1, moved);
+        System.arraycopy(dayUsedAmounts, insertAt, dayUsedAmounts, insertAt + 1, moved);
+        epochDays[insertAt] = epochDay;
+        dayCounts[insertAt] = 0L;
+        dayChargedAmounts[insertAt] = 0L;
+        dayUsedAmounts[insertAt] = 0L;
+        dayCount++;
+        return insertAt;
+    }
+}
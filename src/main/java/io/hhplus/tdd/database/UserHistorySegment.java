@@ -0,0 +1,79 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 한 사용자의 포인트 내역만 담는 append-only 세그먼트
+ * - 쓰기는 lock 으로 직렬화하고, 읽기는 lock 없이 volatile size 까지만 조회합니다.
+ */
+class UserHistorySegment {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile PointHistory[] entries = new PointHistory[INITIAL_CAPACITY];
+    private volatile int size;
+
+    void append(PointHistory pointHistory) {
+        appendLock.lock();
+        try {
+            PointHistory[] current = entries;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length << 1);
+                entries = current;
+            }
+            current[size] = pointHistory;
+            // size 갱신이 마지막이어야 읽기 스레드가 채워진 칸만 보게 됩니다.
+            size = size + 1;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    List<PointHistory> snapshot() {
+        int count = size;
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(entries, count)));
+    }
+
+    /**
+     * 조건에 맞는 내역을 복사 없이 순서대로 전달합니다.
+     * - id 는 저장 순서대로 증가하므로 afterId 위치는 이진 탐색으로 찾습니다.
+     */
+    void forEach(PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        int count = size;
+        PointHistory[] current = entries;
+        int remaining = query.limit();
+        for (int i = firstIndexAfter(current, count, query.afterId()); i < count && remaining > 0; i++) {
+            PointHistory pointHistory = current[i];
+            if (query.matches(pointHistory)) {
+                consumer.accept(pointHistory);
+                remaining--;
+            }
+        }
+    }
+
+    private static int firstIndexAfter(PointHistory[] current, int count, long afterId) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (current[mid].id() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,123 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세그먼트별 LRU 로 크기를 제한한 포인트 잔액 캐시
+ * - 세그먼트마다 쓰기 stamp 를 두어, 조회 중 쓰기가 끼어들면 조회 결과를 적재하지 않습니다.
+ *   (캐시 미스 후 테이블에서 읽은 값이 그 사이 저장된 최신 값을 덮어쓰지 않도록)
+ */
+class UserPointCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    UserPointCache(int maximumSize) {
+        int segmentCapacity = Math.max(1, maximumSize / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    UserPoint get(long id) {
+        UserPoint userPoint = segmentFor(id).get(id);
+        if (userPoint == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return userPoint;
+    }
+
+    long stamp(long id) {
+        return segmentFor(id).stamp;
+    }
+
+    void put(UserPoint userPoint) {
+        segmentFor(userPoint.id()).put(userPoint);
+    }
+
+    void putIfUnchanged(UserPoint userPoint, long stamp) {
+        segmentFor(userPoint.id()).putIfUnchanged(userPoint, stamp);
+    }
+
+    BalanceCacheStats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new BalanceCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size);
+    }
+
+    private Segment segmentFor(long id) {
+        return segments[(Long.hashCode(id) ^ (Long.hashCode(id) >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, UserPoint> entries;
+        private volatile long stamp;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                    if (size() > capacity) {
+                        evictionCount.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        UserPoint get(long id) {
+            lock.lock();
+            try {
+                return entries.get(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(UserPoint userPoint) {
+            lock.lock();
+            try {
+                stamp++;
+                entries.put(userPoint.id(), userPoint);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void putIfUnchanged(UserPoint userPoint, long expectedStamp) {
+            lock.lock();
+            try {
+                if (stamp == expectedStamp) {
+                    entries.putIfAbsent(userPoint.id(), userPoint);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 포인트 잔액 저장소(UserPointStore) 앞단에서 지표를 담당합니다.
+ * - table : UserPointTable 앞단의 read-through / write-through 잔액 캐시
+ * - primitive : long 배열 기반 저장소 (UserPointTable 과 캐시를 사용하지 않음)
+ * - 잔액 저장은 항상 이 Repository 를 통해야 합니다.
+ */
+@Component
+public class UserPointRepository {
+
+    private final UserPointStore store;
+
+    public UserPointRepository(
+            UserPointTable userPointTable,
+            BalanceCacheProperties cacheProperties,
+            BalanceStoreProperties storeProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.store = switch (storeProperties.type()) {
+            case TABLE -> createTableStore(userPointTable, cacheProperties, meterRegistry);
+            case PRIMITIVE -> createPrimitiveStore(storeProperties, meterRegistry);
+        };
+    }
+
+    private TableUserPointStore createTableStore(
+            UserPointTable userPointTable,
+            BalanceCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        if (properties.enabled()) {
+            FunctionCounter.builder("point.balance_cache.hits", this, repository -> repository.cacheStats().hitCount()).register(meterRegistry);
+            FunctionCounter.builder("point.balance_cache.misses", this, repository -> repository.cacheStats().missCount()).register(meterRegistry);
+            FunctionCounter.builder("point.balance_cache.evictions", this, repository -> repository.cacheStats().evictionCount()).register(meterRegistry);
+            Gauge.builder("point.balance_cache.size", this, repository -> repository.cacheStats().size()).register(meterRegistry);
+        }
+        return new TableUserPointStore(
+                userPointTable,
+                properties,
+                tableTimer(meterRegistry, "select"),
+                tableTimer(meterRegistry, "insert_or_update")
+        );
+    }
+
+    private static PrimitiveUserPointStore createPrimitiveStore(BalanceStoreProperties properties, MeterRegistry meterRegistry) {
+        PrimitiveUserPointStore store = new PrimitiveUserPointStore(properties.segments(), properties.initialCapacity());
+        Gauge.builder("point.balance_store.size", store, PrimitiveUserPointStore::size).register(meterRegistry);
+        return store;
+    }
+
+    private static Timer tableTimer(MeterRegistry meterRegistry, String method) {
+        return Timer.builder("point.table.call")
+                .tag("table", "user_point")
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+
+    public UserPoint findById(long id) {
+        return store.findById(id);
+    }
+
+    /**
+     * UserPoint 를 만들지 않고 잔액만 조회합니다. (충전/사용 계산용)
+     */
+    public long findPointById(long id) {
+        return store.findPointById(id);
+    }
+
+    public UserPoint save(long id, long point) {
+        return store.save(id, point);
+    }
+
+    /**
+     * 기동 시 복구한 잔액을 한 번에 적재합니다. (PointBalanceRecovery 전용)
+     * - 사용자마다 지연이 있는 UserPointTable.insertOrUpdate 를 호출하지 않으므로, 사용자 수에 비례한 지연 없이 끝납니다.
+     */
+    public void restoreAll(Map<Long, Long> balances) {
+        balances.forEach(store::restore);
+    }
+
+    public BalanceCacheStats cacheStats() {
+        return store.cacheStats();
+    }
+}
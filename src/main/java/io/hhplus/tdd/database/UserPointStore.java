@@ -0,0 +1,32 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * UserPointRepository 가 사용하는 잔액 저장소
+ * - 저장된 적 없는 사용자는 0 포인트로 조회됩니다.
+ */
+interface UserPointStore {
+
+    UserPoint findById(long id);
+
+    /**
+     * UserPoint 를 만들지 않고 잔액만 조회합니다.
+     */
+    long findPointById(long id);
+
+    UserPoint save(long id, long point);
+
+    /**
+     * 기동 시 복구한 잔액을 적재합니다.
+     * - 요청이 들어오기 전에만 호출되므로 lock 없이 호출됩니다.
+     * - 지연이 없는 저장소는 save 와 같습니다.
+     */
+    default void restore(long id, long point) {
+        save(id, point);
+    }
+
+    default BalanceCacheStats cacheStats() {
+        return BalanceCacheStats.disabled();
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.concurrent.ConcurrentLongSet;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 내역이 한 번이라도 저장된 사용자 목록
+ * - 내역 최초 저장 시 등록되며, 사용자 존재 확인을 lock 없이 O(1) 로 처리합니다.
+ * - 영속 저장소를 사용하는 경우 기동 시 registerAll 로 미리 채워둡니다.
+ */
+@Component
+public class UserRegistry {
+
+    private final ConcurrentLongSet userIds = new ConcurrentLongSet();
+
+    public void register(long userId) {
+        userIds.add(userId);
+    }
+
+    public void registerAll(Iterable<Long> userIds) {
+        for (long userId : userIds) {
+            register(userId);
+        }
+    }
+
+    public boolean contains(long userId) {
+        return userIds.contains(userId);
+    }
+
+    public long size() {
+        return userIds.size();
+    }
+}
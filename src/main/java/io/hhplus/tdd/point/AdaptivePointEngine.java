@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockExecutor;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * hot 계정의 요청은 combining 엔진으로, 나머지는 lock 엔진으로 처리합니다.
+ * - 두 엔진 모두 같은 LockExecutor 의 사용자 Lock 안에서 반영하므로, 처리 중 분류가 바뀌어도 한 사용자의 변경이 겹치지 않습니다.
+ * - hot 계정은 몰린 요청을 한 번의 조회/저장으로 모아 반영하므로, Lock 대기가 길어지지 않고 다른 계정의 처리 스레드를 덜 점유합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine", havingValue = "adaptive")
+public class AdaptivePointEngine implements PointEngine {
+
+    private final PointEngine normalEngine;
+    private final PointEngine hotEngine;
+    private final HotAccountDetector hotAccountDetector;
+
+    public AdaptivePointEngine(
+            PointHistoryRepository pointHistoryRepository,
+            UserPointRepository userPointRepository,
+            LockExecutor lockExecutor,
+            PointValidator pointValidator,
+            UserRegistry userRegistry,
+            HotAccountDetector hotAccountDetector
+    ) {
+        this.normalEngine = new LockingPointEngine(pointHistoryRepository, userPointRepository, lockExecutor, pointValidator, userRegistry);
+        this.hotEngine = new CombiningPointEngine(pointHistoryRepository, userPointRepository, lockExecutor, pointValidator, userRegistry);
+        this.hotAccountDetector = hotAccountDetector;
+        hotAccountDetector.activate();
+    }
+
+    @Override
+    public UserPoint charge(long userId, long amount) {
+        return engineFor(userId).charge(userId, amount);
+    }
+
+    @Override
+    public UserPoint use(long userId, long amount) {
+        return engineFor(userId).use(userId, amount);
+    }
+
+    private PointEngine engineFor(long userId) {
+        return hotAccountDetector.isHot(userId) ? hotEngine : normalEngine;
+    }
+}
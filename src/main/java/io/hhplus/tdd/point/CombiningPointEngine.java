@@ -0,0 +1,165 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockExecutor;
+import io.hhplus.tdd.concurrent.LockRejectedException;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 같은 사용자에 대한 충전/사용 요청을 모아서 한 번에 반영합니다. (group commit)
+ * - 요청은 사용자별 대기열에 넣고, 사용자 Lock 을 잡은 스레드가 대기열을 모두 비워 처리합니다.
+ * - 잔액은 한 번만 조회/저장하고, 요청마다 순서대로 PointPolicy 검증을 적용해 각자의 결과/예외를 돌려줍니다.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "point.engine", havingValue = "combining")
+public class CombiningPointEngine implements PointEngine {
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
+    private final LockExecutor lockExecutor;
+    private final PointValidator pointValidator;
+    private final UserRegistry userRegistry;
+
+    private final ConcurrentHashMap<Long, Queue<PendingCommand>> pendingCommands = new ConcurrentHashMap<>();
+
+    @Override
+    public UserPoint charge(long userId, long amount) {
+        return submit(userId, new PendingCommand(TransactionType.CHARGE, amount));
+    }
+
+    @Override
+    public UserPoint use(long userId, long amount) {
+        return submit(userId, new PendingCommand(TransactionType.USE, amount));
+    }
+
+    private UserPoint submit(long userId, PendingCommand command) {
+        Queue<PendingCommand> queue = pendingCommands.computeIfAbsent(userId, key -> new ConcurrentLinkedQueue<>());
+        queue.add(command);
+
+        // Lock 을 기다리는 동안 앞선 스레드가 이미 처리했다면 결과만 가져갑니다.
+        try {
+            lockExecutor.executeWithUserLock(userId, "combine", () -> {
+                if (!command.result.isDone()) {
+                    combine(userId, queue);
+                }
+                return null;
+            });
+        } catch (LockRejectedException e) {
+            // 아직 다른 스레드가 가져가지 않았을 때만 거절하고, 이미 가져갔다면 그 결과를 기다립니다.
+            if (queue.remove(command)) {
+                throw e;
+            }
+        }
+
+        try {
+            return command.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 사용자 Lock 안에서만 호출됩니다.
+    private void combine(long userId, Queue<PendingCommand> queue) {
+        List<PendingCommand> batch = new ArrayList<>();
+        for (PendingCommand command = queue.poll(); command != null; command = queue.poll()) {
+            batch.add(command);
+        }
+        if (queue.isEmpty()) {
+            // 제거 이후 이 대기열에 들어온 요청은 그 요청의 스레드가 직접 비웁니다.
+            pendingCommands.remove(userId, queue);
+        }
+
+        try {
+            if (!userRegistry.contains(userId)) {
+                throw UserNotFoundException.INSTANCE;
+            }
+
+            long balance = userPointRepository.findPointById(userId);
+            List<PendingCommand> applied = new ArrayList<>(batch.size());
+            for (PendingCommand command : batch) {
+                try {
+                    balance = command.apply(balance, pointValidator);
+                    applied.add(command);
+                } catch (RuntimeException e) {
+                    command.result.completeExceptionally(e);
+                }
+            }
+            if (applied.isEmpty()) {
+                return;
+            }
+
+            // 내역을 먼저 저장하고, 저장된 마지막 내역까지의 잔액만 반영합니다.
+            // 내역 저장이 거절되면 그 요청과 그 잔액을 이어받은 이후 요청은 모두 실패합니다.
+            long updateMillis = System.currentTimeMillis();
+            int inserted = 0;
+            RuntimeException insertFailure = null;
+            for (PendingCommand command : applied) {
+                try {
+                    pointHistoryRepository.insert(userId, command.amount, command.type, updateMillis);
+                    inserted++;
+                } catch (RuntimeException e) {
+                    insertFailure = e;
+                    break;
+                }
+            }
+            for (int i = inserted; i < applied.size(); i++) {
+                applied.get(i).result.completeExceptionally(insertFailure);
+            }
+            if (inserted == 0) {
+                return;
+            }
+
+            UserPoint saved = userPointRepository.save(userId, applied.get(inserted - 1).balanceAfter);
+            for (int i = 0; i < inserted; i++) {
+                PendingCommand command = applied.get(i);
+                command.result.complete(new UserPoint(userId, command.balanceAfter, saved.updateMillis()));
+            }
+        } catch (RuntimeException e) {
+            for (PendingCommand command : batch) {
+                command.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class PendingCommand {
+
+        private final TransactionType type;
+        private final long amount;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+        private long balanceAfter;
+
+        PendingCommand(TransactionType type, long amount) {
+            this.type = type;
+            this.amount = amount;
+        }
+
+        long apply(long balance, PointValidator pointValidator) {
+            long totalPoint;
+            if (type == TransactionType.CHARGE) {
+                totalPoint = balance + amount;
+                pointValidator.validatedChargePoint(totalPoint);
+            } else {
+                totalPoint = balance - amount;
+                pointValidator.validatedUsePoint(totalPoint);
+            }
+            balanceAfter = totalPoint;
+            return totalPoint;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 write-behind 큐가 가득 차 offer-timeout 안에 적재하지 못했을 때 발생합니다.
+ * - 내역을 잔액보다 먼저 저장하므로, 이 예외로 거절된 요청은 잔액도 바뀌지 않습니다.
+ */
+public final class HistoryBacklogFullException extends PointException {
+
+    public static final HistoryBacklogFullException INSTANCE = new HistoryBacklogFullException();
+
+    private HistoryBacklogFullException() {
+        super(PointErrorCode.HISTORY_BACKLOG_FULL);
+    }
+}
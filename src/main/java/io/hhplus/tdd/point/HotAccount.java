@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * hot 으로 분류된 계정과 추정 요청 수
+ */
+public record HotAccount(
+        long userId,
+        long estimatedCount
+) {
+}
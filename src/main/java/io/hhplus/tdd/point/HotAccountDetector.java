@@ -0,0 +1,186 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.FrequencySketch;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 충전/사용 요청의 userId 빈도를 count-min sketch 로 추정해 hot 계정을 분류합니다.
+ * - 추정치가 threshold 이상이면 hot 으로 분류하고, 최대 top-k 개까지 추정치가 큰 계정만 유지합니다.
+ * - window 가 지날 때마다 빈도를 절반으로 줄이고, threshold 의 절반 아래로 내려간 계정은 hot 에서 제외합니다.
+ *   (요청이 꾸준한 계정은 분류가 자주 바뀌지 않도록 분류 / 제외 기준에 차이를 둡니다.)
+ * - 별도 스레드 없이 요청을 기록할 때 window 를 넘겼는지 확인합니다.
+ * - 분류를 쓰는 엔진(adaptive, striped-balance.hot-accounts)이 activate 하거나 enabled 일 때만 기록합니다.
+ *   (그 외에는 record 가 volatile 읽기 한 번으로 끝나, lock 등 다른 엔진의 요청 경로에 sketch 경합을 더하지 않습니다.)
+ * - hot 계정은 최대 top-k 개뿐이므로 boxing 하는 Map 대신 long 배열에 두고,
+ *   구성이 바뀔 때만 새 배열로 교체합니다. (이미 hot 인 계정의 기록 / isHot 조회는 할당이 없습니다.)
+ */
+@Component
+public class HotAccountDetector {
+
+    private final HotAccountProperties properties;
+    private final FrequencySketch sketch;
+    private volatile HotSet hotSet = HotSet.EMPTY;
+    private final ReentrantLock promoteLock = new ReentrantLock();
+    private final AtomicLong windowEndMillis;
+    private volatile boolean active;
+
+    public HotAccountDetector(HotAccountProperties properties) {
+        this.properties = properties;
+        this.sketch = new FrequencySketch(properties.sketchWidth());
+        this.windowEndMillis = new AtomicLong(System.currentTimeMillis() + properties.windowMillis());
+        this.active = properties.enabled();
+    }
+
+    /**
+     * 분류를 쓰는 엔진이 생성될 때 호출합니다. 이후의 요청부터 기록합니다.
+     */
+    public void activate() {
+        if (!active) {
+            windowEndMillis.set(System.currentTimeMillis() + properties.windowMillis());
+            active = true;
+        }
+    }
+
+    public void record(long userId) {
+        if (!active) {
+            return;
+        }
+        rollWindow(System.currentTimeMillis());
+        long estimate = sketch.increment(userId);
+        if (estimate >= properties.threshold()) {
+            promote(userId, estimate);
+        }
+    }
+
+    public boolean isHot(long userId) {
+        return hotSet.indexOf(userId) >= 0;
+    }
+
+    // 추정 요청 수가 많은 순서
+    public List<HotAccount> hotAccounts() {
+        HotSet current = hotSet;
+        List<HotAccount> accounts = new ArrayList<>(current.userIds.length);
+        for (int i = 0; i < current.userIds.length; i++) {
+            accounts.add(new HotAccount(current.userIds[i], current.estimates.get(i)));
+        }
+        accounts.sort(Comparator.comparingLong(HotAccount::estimatedCount).reversed());
+        return accounts;
+    }
+
+    private void promote(long userId, long estimate) {
+        // 이미 hot 인 계정은 추정치만 갱신합니다. (교체 직전의 배열에 쓴 값은 버려질 수 있지만 추정치이므로 허용합니다.)
+        if (hotSet.update(userId, estimate)) {
+            return;
+        }
+        promoteLock.lock();
+        try {
+            HotSet current = hotSet;
+            if (current.update(userId, estimate)) {
+                return;
+            }
+            if (current.userIds.length < properties.topK()) {
+                hotSet = current.with(-1, userId, estimate);
+                return;
+            }
+            int coldest = current.coldestIndex();
+            if (coldest < 0 || current.estimates.get(coldest) >= estimate) {
+                return;
+            }
+            hotSet = current.with(coldest, userId, estimate);
+        } finally {
+            promoteLock.unlock();
+        }
+    }
+
+    private void rollWindow(long nowMillis) {
+        long windowEnd = windowEndMillis.get();
+        if (nowMillis < windowEnd || !windowEndMillis.compareAndSet(windowEnd, nowMillis + properties.windowMillis())) {
+            return;
+        }
+        sketch.halve();
+        promoteLock.lock();
+        try {
+            hotSet = hotSet.retainAtLeast(sketch, properties.threshold() / 2);
+        } finally {
+            promoteLock.unlock();
+        }
+    }
+
+    // 만든 뒤 userIds 는 바뀌지 않고, estimates 만 갱신합니다.
+    private static final class HotSet {
+
+        private static final HotSet EMPTY = new HotSet(new long[0], new long[0]);
+
+        private final long[] userIds;
+        private final AtomicLongArray estimates;
+
+        private HotSet(long[] userIds, long[] estimates) {
+            this.userIds = userIds;
+            this.estimates = new AtomicLongArray(estimates);
+        }
+
+        int indexOf(long userId) {
+            for (int i = 0; i < userIds.length; i++) {
+                if (userIds[i] == userId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean update(long userId, long estimate) {
+            int index = indexOf(userId);
+            if (index < 0) {
+                return false;
+            }
+            estimates.set(index, estimate);
+            return true;
+        }
+
+        int coldestIndex() {
+            int coldest = -1;
+            for (int i = 0; i < userIds.length; i++) {
+                if (coldest < 0 || estimates.get(i) < estimates.get(coldest)) {
+                    coldest = i;
+                }
+            }
+            return coldest;
+        }
+
+        // replaceIndex 가 0 보다 작으면 끝에 추가하고, 아니면 그 자리를 교체합니다.
+        HotSet with(int replaceIndex, long userId, long estimate) {
+            int length = replaceIndex < 0 ? userIds.length + 1 : userIds.length;
+            long[] nextUserIds = Arrays.copyOf(userIds, length);
+            long[] nextEstimates = new long[length];
+            for (int i = 0; i < userIds.length; i++) {
+                nextEstimates[i] = estimates.get(i);
+            }
+            int index = replaceIndex < 0 ? userIds.length : replaceIndex;
+            nextUserIds[index] = userId;
+            nextEstimates[index] = estimate;
+            return new HotSet(nextUserIds, nextEstimates);
+        }
+
+        HotSet retainAtLeast(FrequencySketch sketch, long minimumEstimate) {
+            long[] keptUserIds = new long[userIds.length];
+            long[] keptEstimates = new long[userIds.length];
+            int kept = 0;
+            for (int i = 0; i < userIds.length; i++) {
+                if (sketch.estimate(userIds[i]) >= minimumEstimate) {
+                    keptUserIds[kept] = userIds[i];
+                    keptEstimates[kept] = estimates.get(i);
+                    kept++;
+                }
+            }
+            return kept == userIds.length ? this : new HotSet(Arrays.copyOf(keptUserIds, kept), Arrays.copyOf(keptEstimates, kept));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * hot 계정 감지 설정
+ * - enabled : 분류를 쓰는 엔진이 없어도 요청을 기록 (관리 API 로 hot 계정만 볼 때)
+ *   adaptive 엔진과 striped-balance.hot-accounts 는 이 값과 관계없이 감지를 켭니다.
+ * - threshold : 추정 요청 수가 이 값 이상이면 hot 으로 분류 (window 마다 절반으로 줄어드는 누적값 기준)
+ * - window-millis : 빈도를 절반으로 줄이는 주기
+ * - top-k : hot 으로 유지할 최대 계정 수
+ * - sketch-width : count-min sketch 한 행의 칸 수
+ */
+@ConfigurationProperties(prefix = "point.hot-account")
+public record HotAccountProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000") long threshold,
+        @DefaultValue("1000") long windowMillis,
+        @DefaultValue("32") int topK,
+        @DefaultValue("4096") int sketchWidth
+) {
+
+    public static HotAccountProperties disabled() {
+        return new HotAccountProperties(false, 1000, 1000, 32, 4096);
+    }
+}
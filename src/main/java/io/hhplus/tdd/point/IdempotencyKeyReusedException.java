@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 이미 사용한 Idempotency-Key 로 다른 요청(작업 / 금액)을 보냈을 때 발생합니다. (요청은 실행하지 않습니다.)
+ */
+public final class IdempotencyKeyReusedException extends PointException {
+
+    public static final IdempotencyKeyReusedException INSTANCE = new IdempotencyKeyReusedException();
+
+    private IdempotencyKeyReusedException() {
+        super(PointErrorCode.IDEMPOTENCY_KEY_REUSED);
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용 후 보유 포인트가 0 보다 작아지거나 사용 금액이 허용 범위를 벗어날 때 발생합니다.
+ */
+public final class InsufficientPointException extends PointException {
+
+    public static final InsufficientPointException INSTANCE = new InsufficientPointException();
+
+    private InsufficientPointException() {
+        super(PointErrorCode.INSUFFICIENT_POINT);
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockExecutor;
+import io.hhplus.tdd.concurrent.UserLockTask;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청마다 사용자 Lock 을 잡고 조회 -> 검증 -> 저장 -> 내역 저장을 수행합니다. (기본값)
+ * - Lock 안에서 실행할 작업은 필드에 한 번만 만들어 두고 userId / amount 를 인자로 넘기므로, 요청마다 람다를 만들지 않습니다.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "point.engine", havingValue = "lock", matchIfMissing = true)
+public class LockingPointEngine implements PointEngine {
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
+    private final LockExecutor lockExecutor;
+    private final PointValidator pointValidator;
+    private final UserRegistry userRegistry;
+    private final UserLockTask<UserPoint> chargeTask = this::chargeWithLock;
+    private final UserLockTask<UserPoint> useTask = this::useWithLock;
+
+    @Override
+    public UserPoint charge(long userId, long amount) {
+        return lockExecutor.executeWithUserLock(userId, "charge", amount, chargeTask);
+    }
+
+    @Override
+    public UserPoint use(long userId, long amount) {
+        return lockExecutor.executeWithUserLock(userId, "use", amount, useTask);
+    }
+
+    private UserPoint chargeWithLock(long userId, long amount) {
+        if (!userRegistry.contains(userId)) {
+            throw UserNotFoundException.INSTANCE;
+        }
+
+        long point = userPointRepository.findPointById(userId);
+
+        // 포인트 최대값 초과 유효성 검증
+        long totalPoint = amount + point;
+        pointValidator.validatedChargePoint(totalPoint);
+
+        // 충전 history (내역을 먼저 저장하므로 내역 저장이 거절되면 잔액도 바뀌지 않습니다.)
+        pointHistoryRepository.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // 포인트 충전
+        return userPointRepository.save(userId, totalPoint);
+    }
+
+    private UserPoint useWithLock(long userId, long amount) {
+        if (!userRegistry.contains(userId)) {
+            throw UserNotFoundException.INSTANCE;
+        }
+
+        long point = userPointRepository.findPointById(userId);
+
+        long totalPoint = point - amount;
+        pointValidator.validatedUsePoint(totalPoint);
+
+        // 사용 history
+        pointHistoryRepository.insert(userId, amount, TransactionType.USE, System.currentTimeMillis());
+
+        // 포인트 사용
+        return userPointRepository.save(userId, totalPoint);
+    }
+}
@@ -0,0 +1,268 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockExecutor;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock 없이 잔액을 계산하고, 사용자별 최신 잔액(불변 Committed)을 compare-and-set 으로 교체해 반영합니다.
+ * - compare-and-set 으로 다시 시도하는 것은 메모리의 잔액 계산뿐이고, 테이블 I/O 는 반영이 확정된 뒤에 합니다.
+ *   (반영 중인 요청이 다른 요청을 기다리게 하지 않습니다.)
+ * - 확정된 반영은 사용자별 writeLock 안에서 버전 순서대로 내역 → 잔액 순으로 저장합니다.
+ *   먼저 lock 을 잡은 요청이 그때까지 확정된 반영을 모두 저장하므로, 몰리는 사용자는 잔액 저장이 한 번으로 합쳐집니다.
+ *   writeLock 을 기다리는 요청은 park 하며 기다립니다.
+ * - 내역 저장이 실패하면 (503 등) 저장하지 못한 반영은 모두 실패로 응답하고, 메모리 잔액은 마지막으로 저장한 잔액으로 되돌립니다.
+ * - 잔액은 사용자의 첫 요청에서 한 번 읽어온 뒤 메모리 값을 기준으로 계산합니다. (이 엔진만 잔액을 저장합니다.)
+ * - compare-and-set 이 max-attempts 번 연속 실패하면 backoff 후 사용자 Lock 으로 처리하고,
+ *   그 사용자는 hot-key-millis 동안 처음부터 Lock 으로 처리해 계산 재시도가 쌓이지 않게 합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine", havingValue = "optimistic")
+public class OptimisticPointEngine implements PointEngine {
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
+    private final LockExecutor lockExecutor;
+    private final PointValidator pointValidator;
+    private final UserRegistry userRegistry;
+    private final OptimisticProperties properties;
+    private final Counter conflicts;
+    private final Counter fallbacks;
+
+    // MapLockStrategy 와 마찬가지로 한 번 요청한 사용자의 잔액은 계속 유지합니다.
+    private final ConcurrentHashMap<Long, UserBalance> balances = new ConcurrentHashMap<>();
+
+    public OptimisticPointEngine(
+            PointHistoryRepository pointHistoryRepository,
+            UserPointRepository userPointRepository,
+            LockExecutor lockExecutor,
+            PointValidator pointValidator,
+            UserRegistry userRegistry,
+            OptimisticProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userPointRepository = userPointRepository;
+        this.lockExecutor = lockExecutor;
+        this.pointValidator = pointValidator;
+        this.userRegistry = userRegistry;
+        this.properties = properties;
+        this.conflicts = Counter.builder("point.optimistic.conflicts").register(meterRegistry);
+        this.fallbacks = Counter.builder("point.optimistic.fallbacks").register(meterRegistry);
+    }
+
+    @Override
+    public UserPoint charge(long userId, long amount) {
+        return apply(userId, TransactionType.CHARGE, amount);
+    }
+
+    @Override
+    public UserPoint use(long userId, long amount) {
+        return apply(userId, TransactionType.USE, amount);
+    }
+
+    private UserPoint apply(long userId, TransactionType type, long amount) {
+        if (!userRegistry.contains(userId)) {
+            throw UserNotFoundException.INSTANCE;
+        }
+        UserBalance balance = balances.computeIfAbsent(userId, key -> new UserBalance());
+        Committed head = balance.head.get();
+        if (head == null) {
+            // 첫 요청에서만 저장된 잔액을 읽습니다. 동시에 읽은 요청 중 하나만 반영됩니다.
+            balance.head.compareAndSet(null, Committed.loaded(userPointRepository.findPointById(userId)));
+        }
+
+        Committed committed = null;
+        if (!balance.isHot(System.nanoTime())) {
+            for (int attempt = 0; attempt < properties.maxAttempts() && committed == null; attempt++) {
+                if (attempt > 0) {
+                    conflicts.increment();
+                    backoff(attempt - 1);
+                }
+                committed = tryCommit(balance, type, amount);
+            }
+            if (committed == null) {
+                balance.markHot(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.hotKeyMillis()));
+            }
+        }
+        if (committed == null) {
+            fallbacks.increment();
+            committed = lockExecutor.executeWithUserLock(userId, type == TransactionType.CHARGE ? "charge" : "use", () -> {
+                // Lock 을 잡은 뒤의 충돌은 hot 으로 바뀌기 전에 시작한 Lock 밖 요청뿐이므로 곧 끝납니다. (spin 대신 backoff)
+                for (int attempt = 0; ; attempt++) {
+                    Committed result = tryCommit(balance, type, amount);
+                    if (result != null) {
+                        return result;
+                    }
+                    conflicts.increment();
+                    backoff(attempt);
+                }
+            });
+        }
+        return persist(userId, balance, committed);
+    }
+
+    /**
+     * 최신 잔액으로 계산한 결과를 compare-and-set 합니다. 다른 요청이 먼저 반영했으면 null 을 반환합니다.
+     * - 검증 실패는 그 시점의 확정된 잔액 기준이므로 바로 던집니다.
+     */
+    private Committed tryCommit(UserBalance balance, TransactionType type, long amount) {
+        Committed current = balance.head.get();
+        Committed next = new Committed(current, next(type, current.point, amount), type, amount, System.currentTimeMillis());
+        return balance.head.compareAndSet(current, next) ? next : null;
+    }
+
+    private long next(TransactionType type, long point, long amount) {
+        if (type == TransactionType.CHARGE) {
+            long totalPoint = point + amount;
+            pointValidator.validatedChargePoint(totalPoint);
+            return totalPoint;
+        }
+        long totalPoint = point - amount;
+        pointValidator.validatedUsePoint(totalPoint);
+        return totalPoint;
+    }
+
+    /**
+     * committed 가 저장될 때까지 기다립니다. 아직 아무도 저장하지 않았으면 지금까지 확정된 반영을 모두 저장합니다.
+     */
+    private UserPoint persist(long userId, UserBalance balance, Committed committed) {
+        balance.writeLock.lock();
+        try {
+            if (committed.failure == null && balance.persistedVersion < committed.version) {
+                flush(userId, balance);
+            }
+            if (committed.failure != null) {
+                throw committed.failure;
+            }
+            return new UserPoint(userId, committed.point, committed.updateMillis);
+        } finally {
+            balance.writeLock.unlock();
+        }
+    }
+
+    // writeLock 안에서 호출합니다.
+    private void flush(long userId, UserBalance balance) {
+        Committed target = balance.head.get();
+        Committed[] pending = new Committed[(int) (target.version - balance.persistedVersion)];
+        Committed node = target;
+        for (int i = pending.length - 1; i >= 0; i--) {
+            pending[i] = node;
+            node = node.previous;
+        }
+
+        Committed inserted = null;
+        try {
+            for (Committed next : pending) {
+                pointHistoryRepository.insert(userId, next.amount, next.type, next.updateMillis);
+                inserted = next;
+            }
+        } catch (RuntimeException e) {
+            // 내역이 저장된 반영까지만 잔액에 남기고, 나머지는 실패로 응답합니다.
+            if (inserted != null) {
+                userPointRepository.save(userId, inserted.point);
+            }
+            rollback(balance, inserted, e);
+            return;
+        }
+        userPointRepository.save(userId, target.point);
+        balance.persistedVersion = target.version;
+        // 저장이 끝난 이전 반영은 더 이상 거슬러 올라가지 않으므로 끊어서 GC 되게 합니다.
+        target.previous = null;
+    }
+
+    // 저장하지 못한 반영(그 사이 새로 확정된 반영 포함)을 실패로 표시하고, 메모리 잔액을 마지막으로 저장한 잔액으로 되돌립니다.
+    private void rollback(UserBalance balance, Committed lastPersisted, RuntimeException failure) {
+        long persistedVersion = lastPersisted == null ? balance.persistedVersion : lastPersisted.version;
+        long persistedPoint = lastPersisted == null ? balance.pointAt(persistedVersion) : lastPersisted.point;
+        Committed restored = Committed.restored(persistedVersion, persistedPoint);
+        Committed discarded = balance.head.getAndSet(restored);
+        for (Committed node = discarded; node != null && node.version > persistedVersion; node = node.previous) {
+            node.failure = failure;
+        }
+        balance.persistedVersion = persistedVersion;
+    }
+
+    private void backoff(int attempt) {
+        long maxMicros = Math.min(properties.maxBackoffMicros(), properties.initialBackoffMicros() << Math.min(attempt, 20));
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(ThreadLocalRandom.current().nextLong(maxMicros + 1)));
+    }
+
+    /**
+     * 확정된 반영 하나 (잔액과 버전은 바뀌지 않습니다.)
+     * - previous : 아직 저장되지 않은 이전 반영 (저장되면 끊습니다.)
+     * - failure : 저장하지 못해 되돌린 반영이면 그 원인
+     */
+    private static final class Committed {
+
+        private final long version;
+        private final long point;
+        private final TransactionType type;
+        private final long amount;
+        private final long updateMillis;
+        // writeLock 안에서만 읽고 씁니다. (failure 는 writeLock 을 잡은 뒤 확인합니다.)
+        private Committed previous;
+        private RuntimeException failure;
+
+        private Committed(long version, long point, TransactionType type, long amount, long updateMillis, Committed previous) {
+            this.version = version;
+            this.point = point;
+            this.type = type;
+            this.amount = amount;
+            this.updateMillis = updateMillis;
+            this.previous = previous;
+        }
+
+        Committed(Committed previous, long point, TransactionType type, long amount, long updateMillis) {
+            this(previous.version + 1, point, type, amount, updateMillis, previous);
+        }
+
+        static Committed loaded(long point) {
+            return restored(0L, point);
+        }
+
+        static Committed restored(long version, long point) {
+            return new Committed(version, point, null, 0L, 0L, null);
+        }
+    }
+
+    private static final class UserBalance {
+
+        private final AtomicReference<Committed> head = new AtomicReference<>();
+        private final ReentrantLock writeLock = new ReentrantLock();
+        // writeLock 안에서만 읽고 씁니다.
+        private long persistedVersion;
+        private volatile long hotUntilNanos;
+        private volatile boolean hot;
+
+        // writeLock 안에서 호출합니다. persistedVersion 시점의 잔액은 head 에서 거슬러 올라가 찾습니다.
+        long pointAt(long version) {
+            Committed node = head.get();
+            while (node.version > version) {
+                node = node.previous;
+            }
+            return node.point;
+        }
+
+        void markHot(long untilNanos) {
+            hotUntilNanos = untilNanos;
+            hot = true;
+        }
+
+        boolean isHot(long nowNanos) {
+            return hot && nowNanos - hotUntilNanos < 0;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * optimistic 엔진 설정
+ * - max-attempts : 잔액 compare-and-set 충돌 시 계산을 다시 시도하는 횟수 (넘으면 사용자 Lock 으로 처리)
+ * - initial-backoff-micros / max-backoff-micros : 재시도 전 대기 시간의 시작값과 상한 (시도마다 2 배, jitter 적용)
+ * - hot-key-millis : Lock 으로 넘어간 사용자를 이 시간 동안 처음부터 Lock 으로 처리
+ */
+@ConfigurationProperties(prefix = "point.optimistic")
+public record OptimisticProperties(
+        @DefaultValue("4") int maxAttempts,
+        @DefaultValue("1") long initialBackoffMicros,
+        @DefaultValue("256") long maxBackoffMicros,
+        @DefaultValue("1000") long hotKeyMillis
+) {
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/point")
+public class PointAdminController {
+
+    private final HotAccountDetector hotAccountDetector;
+
+    /**
+     * 현재 hot 으로 분류된 계정을 추정 요청 수가 많은 순서로 조회합니다.
+     */
+    @GetMapping("hot-accounts")
+    public List<HotAccount> hotAccounts() {
+        return hotAccountDetector.hotAccounts();
+    }
+}
@@ -1,13 +1,25 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RequiredArgsConstructor
 @RestController
@@ -16,55 +28,169 @@ import java.util.List;
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final String NEXT_AFTER_ID_HEADER = "Next-After-Id";
     private final PointService pointService;
+    private final ObjectMapper objectMapper;
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
      */
     @GetMapping("{id}")
-    public UserPoint point(
+    public CompletableFuture<UserPoint> point(
             @Min(value = 1, message = "유효한 userId 가 아닙니다.")
             @PathVariable("id") long userId
     ) {
-        return pointService.findUserPointById(userId);
+        return pointService.findUserPointByIdAsync(userId);
     }
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * - limit 을 생략하면 MAX_LIMIT 건까지 응답합니다.
+     * - 뒤에 내역이 더 있으면 다음 요청의 afterId 로 쓸 값을 Next-After-Id 헤더로 응답합니다. (마지막 페이지에는 없음)
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
+    public CompletableFuture<ResponseEntity<List<PointHistory>>> history(
             @Min(value = 1, message = "유효한 userId 가 아닙니다.")
-            @PathVariable("id") long userId
+            @PathVariable("id") long userId,
+
+            @RequestParam(name = "afterId", required = false) Long afterId,
+
+            @Min(value = 1, message = "limit 은 1 이상이어야 합니다.")
+            @Max(value = PointHistoryQuery.MAX_LIMIT, message = "limit 은 1000 이하여야 합니다.")
+            @RequestParam(name = "limit", required = false) Integer limit,
+
+            @RequestParam(name = "type", required = false) TransactionType type,
+            @RequestParam(name = "from", required = false) Long fromMillis,
+            @RequestParam(name = "to", required = false) Long toMillis
+    ) {
+        PointHistoryQuery query = toQuery(afterId, limit, PointHistoryQuery.MAX_LIMIT, type, fromMillis, toMillis);
+        // 한 건 더 조회해 다음 페이지가 있는지 확인합니다.
+        return pointService.findHistoriesAsync(userId, query.withLimit(query.limit() + 1))
+                .thenApply(histories -> toPage(histories, query.limit()));
+    }
+
+    /**
+     * 포인트 충전/이용 내역을 NDJSON 으로 한 줄씩 스트리밍합니다. (Accept: application/x-ndjson)
+     * - 내역을 목록으로 모으지 않으므로 내역 길이와 무관하게 요청당 메모리 사용량이 일정합니다.
+     *   그래서 MAX_LIMIT 제한이 없고, limit 을 생략하면 조건에 맞는 내역을 끝까지 응답합니다.
+     * - 응답 헤더를 먼저 보내므로 Next-After-Id 헤더는 없고, limit 만큼 받았다면 마지막 줄의 id 를 다음 afterId 로 사용합니다.
+     */
+    @GetMapping(value = "{id}/histories", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamHistory(
+            @Min(value = 1, message = "유효한 userId 가 아닙니다.")
+            @PathVariable("id") long userId,
+
+            @RequestParam(name = "afterId", required = false) Long afterId,
+
+            @Min(value = 1, message = "limit 은 1 이상이어야 합니다.")
+            @RequestParam(name = "limit", required = false) Integer limit,
+
+            @RequestParam(name = "type", required = false) TransactionType type,
+            @RequestParam(name = "from", required = false) Long fromMillis,
+            @RequestParam(name = "to", required = false) Long toMillis
     ) {
-        return pointService.findHistories(userId);
+        PointHistoryQuery query = toQuery(afterId, limit, Integer.MAX_VALUE, type, fromMillis, toMillis);
+        StreamingResponseBody body = outputStream -> pointService.streamHistories(userId, query, pointHistory -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(pointHistory));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * 포인트 충전/이용 내역의 누적 통계(전체 합계, 일 단위 합계)를 조회합니다.
+     * - 내역을 저장할 때 누적한 값이므로 내역 길이와 무관하게 응답합니다.
+     * - from / to (yyyy-MM-dd, UTC) 로 일 단위 합계의 범위를 지정합니다.
+     */
+    @GetMapping("{id}/statistics")
+    public CompletableFuture<PointStatistics> statistics(
+            @Min(value = 1, message = "유효한 userId 가 아닙니다.")
+            @PathVariable("id") long userId,
+
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @RequestParam(name = "from", required = false) LocalDate from,
+
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @RequestParam(name = "to", required = false) LocalDate to
+    ) {
+        return pointService.findStatisticsAsync(userId, from, to);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * - Idempotency-Key 헤더가 있으면 같은 key 의 재시도는 처음 요청의 결과를 그대로 반환합니다.
+     *   같은 key 로 다른 금액을 보내면 422 를 반환합니다.
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @Min(value = 1, message = "유효한 userId 가 아닙니다.")
             @PathVariable("id") long userId,
             
             @Min(value = 0, message = "최소 0포인트 이상 충전 가능합니다.")
-            @RequestBody long amount
+            @RequestBody long amount,
+
+            @Size(max = 255, message = "Idempotency-Key 는 255자 이하여야 합니다.")
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        return pointService.chargeUserPoint(userId, amount);
+        return pointService.chargeUserPointAsync(userId, amount, idempotencyKey);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * - Idempotency-Key 헤더가 있으면 같은 key 의 재시도는 처음 요청의 결과를 그대로 반환합니다.
+     *   같은 key 로 다른 금액을 보내면 422 를 반환합니다.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
             @Min(value = 1, message = "유효한 userId 가 아닙니다.")
             @PathVariable("id") long userId,
 
             @Min(value = 0, message = "최소 0포인트 이상 사용 가능합니다.")
-            @RequestBody long amount
+            @RequestBody long amount,
+
+            @Size(max = 255, message = "Idempotency-Key 는 255자 이하여야 합니다.")
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        return pointService.usePoint(userId, amount);
+        return pointService.usePointAsync(userId, amount, idempotencyKey);
+    }
+
+    /**
+     * 여러 사용자의 포인트 충전/사용을 한 번에 처리합니다.
+     * - 같은 사용자의 요청은 배열 순서대로, 다른 사용자끼리는 병렬로 처리됩니다.
+     * - 항목별 성공/실패를 요청과 같은 순서로 반환합니다. (일부가 실패해도 200)
+     */
+    @PostMapping("batch")
+    public CompletableFuture<List<PointOperationResult>> batch(
+            @Size(min = 1, max = PointOperation.MAX_BATCH_SIZE, message = "한 번에 1 ~ 10000 건까지 요청 가능합니다.")
+            @RequestBody List<@Valid PointOperation> operations
+    ) {
+        return pointService.applyAllAsync(operations);
+    }
+
+    private static ResponseEntity<List<PointHistory>> toPage(List<PointHistory> histories, int limit) {
+        if (histories.size() <= limit) {
+            return ResponseEntity.ok(histories);
+        }
+        List<PointHistory> page = histories.subList(0, limit);
+        return ResponseEntity.ok()
+                .header(NEXT_AFTER_ID_HEADER, String.valueOf(page.get(limit - 1).id()))
+                .body(page);
+    }
+
+    // limit 을 생략하면 maxLimit 건까지, 검증을 거치지 않은 경우에도 maxLimit 을 넘지 않게 합니다.
+    private static PointHistoryQuery toQuery(Long afterId, Integer limit, int maxLimit, TransactionType type, Long fromMillis, Long toMillis) {
+        return new PointHistoryQuery(
+                afterId == null ? 0L : afterId,
+                limit == null ? maxLimit : Math.min(limit, maxLimit),
+                type,
+                fromMillis == null ? Long.MIN_VALUE : fromMillis,
+                toMillis == null ? Long.MAX_VALUE : toMillis
+        );
     }
 }
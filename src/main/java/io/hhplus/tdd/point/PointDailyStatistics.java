@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+import java.time.LocalDate;
+
+/**
+ * 하루(UTC) 동안의 포인트 내역 합계
+ */
+public record PointDailyStatistics(
+        LocalDate date,
+        long count,
+        long chargedAmount,
+        long usedAmount
+) {
+}
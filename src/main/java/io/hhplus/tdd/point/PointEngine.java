@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용을 실제로 반영하는 실행 방식
+ * - 금액 자체의 유효성 검증은 PointService 에서 끝난 뒤 호출됩니다.
+ * - point.engine 설정으로 구현체를 선택합니다.
+ */
+public interface PointEngine {
+
+    UserPoint charge(long userId, long amount);
+
+    UserPoint use(long userId, long amount);
+
+    /**
+     * 엔진이 UserPointRepository 대신 직접 관리하는 사용자의 잔액, 없으면 null (저장소에서 조회)
+     */
+    default UserPoint findUserPoint(long userId) {
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+
+/**
+ * 포인트 업무 오류 코드
+ * - status : 응답 HTTP status
+ * - 응답 본문(ErrorResponse)은 코드마다 한 번만 만들어 두고 재사용합니다.
+ */
+public enum PointErrorCode {
+
+    USER_NOT_FOUND(400, "사용자 포인트 정보가 존재하지 않습니다."),
+    POINT_LIMIT_EXCEEDED(400, "충전 시 최대 보유 포인트를 초과합니다."),
+    INSUFFICIENT_POINT(400, "보유 포인트를 초과하여 사용할 수 없습니다."),
+    IDEMPOTENCY_KEY_REUSED(422, "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."),
+    HISTORY_BACKLOG_FULL(503, "포인트 내역 저장이 밀려 있습니다. 잠시 후 다시 시도해주세요."),
+    SERVER_BUSY(503, "요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+
+    private final int status;
+    private final String message;
+    private final ErrorResponse errorResponse;
+
+    PointErrorCode(int status, String message) {
+        this.status = status;
+        this.message = message;
+        this.errorResponse = new ErrorResponse(String.valueOf(status), message);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public ErrorResponse getErrorResponse() {
+        return errorResponse;
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용자 없음 / 최대 보유 포인트 초과 / 잔액 부족처럼 요청을 거절하는 업무 오류
+ * - 정상적인 업무 결과이므로 stack trace 를 만들지 않고, 하위 타입마다 미리 만든 INSTANCE 를 던집니다.
+ * - suppression 도 끄므로 여러 스레드가 같은 인스턴스를 던져도 상태가 바뀌지 않습니다.
+ */
+public abstract class PointException extends RuntimeException {
+
+    private final PointErrorCode errorCode;
+
+    protected PointException(PointErrorCode errorCode) {
+        super(errorCode.getMessage(), null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public PointErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 조건에 맞는 포인트 내역의 합계
+ * - count : 내역 건수
+ * - chargedAmount / usedAmount : 충전 / 사용 금액 합계
+ */
+public record PointHistoryAggregate(
+        long count,
+        long chargedAmount,
+        long usedAmount
+) {
+
+    public static PointHistoryAggregate empty() {
+        return new PointHistoryAggregate(0L, 0L, 0L);
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 조회 조건
+ * - afterId : 이 id 이후의 내역부터 조회 (cursor, 0 이면 처음부터)
+ * - limit : 최대 조회 건수
+ * - type : 트랜잭션 종류 (null 이면 전체)
+ * - fromMillis / toMillis : updateMillis 범위 (양 끝 포함)
+ */
+public record PointHistoryQuery(
+        long afterId,
+        int limit,
+        TransactionType type,
+        long fromMillis,
+        long toMillis
+) {
+
+    public static final int MAX_LIMIT = 1_000;
+
+    public static PointHistoryQuery all() {
+        return new PointHistoryQuery(0L, Integer.MAX_VALUE, null, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    public PointHistoryQuery withLimit(int limit) {
+        return new PointHistoryQuery(afterId, limit, type, fromMillis, toMillis);
+    }
+
+    public boolean matches(PointHistory pointHistory) {
+        return matches(pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    public boolean matches(TransactionType type, long updateMillis) {
+        return (this.type == null || this.type == type)
+                && updateMillis >= fromMillis
+                && updateMillis <= toMillis;
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 충전 후 보유 포인트가 최대값을 넘을 때 발생합니다.
+ */
+public final class PointLimitExceededException extends PointException {
+
+    public static final PointLimitExceededException INSTANCE = new PointLimitExceededException();
+
+    private PointLimitExceededException() {
+        super(PointErrorCode.POINT_LIMIT_EXCEEDED);
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 일괄 처리 API 의 충전/사용 요청 1 건
+ * - 형식 오류(userId, amount, type)는 일괄 요청 전체를 거절하고, 잔액 정책 위반은 항목별 실패로 응답합니다.
+ */
+public record PointOperation(
+        @Min(value = 1, message = "유효한 userId 가 아닙니다.")
+        long userId,
+
+        @Min(value = 0, message = "최소 0포인트 이상 요청 가능합니다.")
+        long amount,
+
+        @NotNull(message = "type 은 필수입니다.")
+        TransactionType type
+) {
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+}
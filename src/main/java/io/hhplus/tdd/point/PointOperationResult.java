@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+
+/**
+ * 일괄 처리 API 의 항목별 결과 (요청 순서와 같은 위치에 담깁니다.)
+ * - 성공 : userPoint 에 처리 후 잔액, error 는 null
+ * - 실패 : userPoint 는 null, error 에 단건 API 와 같은 code / message
+ */
+public record PointOperationResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        UserPoint userPoint,
+        ErrorResponse error
+) {
+
+    public static PointOperationResult success(PointOperation operation, UserPoint userPoint) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), userPoint, null);
+    }
+
+    public static PointOperationResult failure(PointOperation operation, RuntimeException e) {
+        ErrorResponse error = e instanceof PointException pointException
+                ? pointException.getErrorCode().getErrorResponse()
+                : new ErrorResponse("400", e.getMessage());
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), null, error);
+    }
+}
@@ -1,36 +1,66 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.concurrent.LockExecutor;
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.concurrent.AsyncUserExecutor;
+import io.hhplus.tdd.concurrent.IdempotencyCache;
+import io.hhplus.tdd.concurrent.UserLockTask;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Service
 public class PointService {
 
-    private final PointHistoryTable pointHistoryTable;
-    private final UserPointTable userPointTable;
-    private final LockExecutor lockExecutor;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
     private final PointValidator pointValidator;
-
+    private final UserRegistry userRegistry;
+    private final PointEngine pointEngine;
+    private final AsyncUserExecutor asyncUserExecutor;
+    private final IdempotencyCache idempotencyCache;
+    private final HotAccountDetector hotAccountDetector;
+    // 비동기 충전/사용에 요청마다 람다를 만들지 않도록 재사용하는 작업
+    private final UserLockTask<UserPoint> chargeTask = (userId, amount) -> pointEngine.charge(userId, amount);
+    private final UserLockTask<UserPoint> useTask = (userId, amount) -> pointEngine.use(userId, amount);
 
     // 특정 유저의 포인트를 조회하는 기능
     public UserPoint findUserPointById(long userId) {
-        List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(userId);
-
-        if (pointHistories.isEmpty()) {
-            throw new RuntimeException("사용자 포인트 정보가 존재하지 않습니다.");
+        if (!userRegistry.contains(userId)) {
+            throw UserNotFoundException.INSTANCE;
         }
-        return userPointTable.selectById(userId);
+        UserPoint managedUserPoint = pointEngine.findUserPoint(userId);
+        return managedUserPoint != null ? managedUserPoint : userPointRepository.findById(userId);
     }
 
     // 특정 유저의 포인트 충전/이용 내역을 조회하는 기능
     public List<PointHistory> findHistories(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        return pointHistoryRepository.findAllByUserId(userId);
+    }
+
+    // 특정 유저의 포인트 충전/이용 내역을 조건(cursor, 종류, 기간)에 맞춰 조회하는 기능
+    public List<PointHistory> findHistories(long userId, PointHistoryQuery query) {
+        return pointHistoryRepository.findByUserId(userId, query);
+    }
+
+    // 특정 유저의 포인트 충전/이용 내역을 목록으로 모으지 않고 한 건씩 전달하는 기능
+    public void streamHistories(long userId, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        pointHistoryRepository.forEachByUserId(userId, query, consumer);
+    }
+
+    // 특정 유저의 포인트 충전/이용 내역 통계를 조회하는 기능 (저장 시점에 누적된 값)
+    public PointStatistics findStatistics(long userId, LocalDate from, LocalDate to) {
+        return pointHistoryRepository.findStatisticsByUserId(userId, from, to);
     }
 
     // 특정 유저의 포인트를 충전하는 기능
@@ -39,28 +69,8 @@ public class PointService {
         // 포인트 최대값 초과 유효성 검증
         pointValidator.validatedChargePoint(amount);
 
-        return lockExecutor.executeWithUserLock(userId, () -> {
-
-            List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(userId);
-
-            if (pointHistories.isEmpty()) {
-                throw new RuntimeException("사용자 포인트 정보가 존재하지 않습니다.");
-            }
-
-            UserPoint userPoint = userPointTable.selectById(userId);
-
-            // 포인트 최대값 초과 유효성 검증
-            long totalPoint = amount + userPoint.point();
-            pointValidator.validatedChargePoint(totalPoint);
-            
-            // 포인트 충전
-            UserPoint chargedUserPoint = userPointTable.insertOrUpdate(userId, totalPoint);
-
-            // 충전 history
-            pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
-            return chargedUserPoint;
-        });
-
+        hotAccountDetector.record(userId);
+        return pointEngine.charge(userId, amount);
     }
 
     // 특정 유저의 포인트를 사용하는 기능
@@ -68,27 +78,107 @@ public class PointService {
 
         pointValidator.validatedUsePoint(amount);
 
-        return lockExecutor.executeWithUserLock(userId, () -> {
-            List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(userId);
+        hotAccountDetector.record(userId);
+        return pointEngine.use(userId, amount);
+    }
+
+    /*
+     * 비동기 API
+     * - 같은 사용자의 충전/사용은 요청 순서대로 실행되며, 앞선 요청을 기다리는 동안 호출 스레드를 점유하지 않습니다.
+     * - 유효성 검증 실패도 예외를 던지지 않고 실패한 CompletableFuture 로 반환합니다.
+     */
+    public CompletableFuture<UserPoint> findUserPointByIdAsync(long userId) {
+        return asyncUserExecutor.supply(() -> findUserPointById(userId));
+    }
+
+    public CompletableFuture<List<PointHistory>> findHistoriesAsync(long userId) {
+        return asyncUserExecutor.supply(() -> findHistories(userId));
+    }
 
-            if (pointHistories.isEmpty()) {
-                throw new RuntimeException("사용자 포인트 정보가 존재하지 않습니다.");
-            }
+    public CompletableFuture<List<PointHistory>> findHistoriesAsync(long userId, PointHistoryQuery query) {
+        return asyncUserExecutor.supply(() -> findHistories(userId, query));
+    }
 
-            UserPoint userPoint = userPointTable.selectById(userId);
+    public CompletableFuture<PointStatistics> findStatisticsAsync(long userId, LocalDate from, LocalDate to) {
+        return asyncUserExecutor.supply(() -> findStatistics(userId, from, to));
+    }
 
-            long totalPoint = userPoint.point() - amount;
-            pointValidator.validatedUsePoint(totalPoint);
+    public CompletableFuture<UserPoint> chargeUserPointAsync(long userId, long amount) {
+        try {
+            pointValidator.validatedChargePoint(amount);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        hotAccountDetector.record(userId);
+        return asyncUserExecutor.submit(userId, amount, chargeTask);
+    }
 
-            // 포인트 사용
-            UserPoint usedUserPoint = userPointTable.insertOrUpdate(userId, totalPoint);
+    public CompletableFuture<UserPoint> usePointAsync(long userId, long amount) {
+        try {
+            pointValidator.validatedUsePoint(amount);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        hotAccountDetector.record(userId);
+        return asyncUserExecutor.submit(userId, amount, useTask);
+    }
 
-            // 사용 history
-            pointHistoryTable.insert(userId, amount, TransactionType.USE, System.currentTimeMillis());
+    /*
+     * Idempotency-Key 가 있는 충전/사용
+     * - 같은 사용자의 같은 key 로 다시 들어온 요청은 실행하지 않고 처음 요청의 결과(실행 중이면 그 future)를 반환합니다.
+     * - key 가 없으면 매번 실행합니다.
+     */
+    public CompletableFuture<UserPoint> chargeUserPointAsync(long userId, long amount, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return chargeUserPointAsync(userId, amount);
+        }
+        return idempotencyCache.execute(userId, idempotencyKey, "charge:" + amount, () -> chargeUserPointAsync(userId, amount));
+    }
+
+    public CompletableFuture<UserPoint> usePointAsync(long userId, long amount, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return usePointAsync(userId, amount);
+        }
+        return idempotencyCache.execute(userId, idempotencyKey, "use:" + amount, () -> usePointAsync(userId, amount));
+    }
 
-            return usedUserPoint;
+    /**
+     * 여러 사용자의 충전/사용을 한 번에 처리합니다.
+     * - 사용자별로 묶어 사용자당 작업 1 개로 제출하므로, 사용자끼리는 병렬로, 같은 사용자는 요청 순서대로 실행됩니다.
+     * - 같은 사용자의 단건 비동기 요청과도 AsyncUserExecutor 의 순서를 공유합니다.
+     * - 한 항목이 실패해도 나머지 항목은 계속 처리하며, 결과는 요청과 같은 순서로 반환합니다.
+     */
+    public CompletableFuture<List<PointOperationResult>> applyAllAsync(List<PointOperation> operations) {
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByUser.computeIfAbsent(operations.get(i).userId(), key -> new ArrayList<>()).add(i);
+        }
 
-        });
+        // 각 사용자 작업은 서로 다른 칸에만 쓰고, allOf 완료 이후에 읽습니다.
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        CompletableFuture<?>[] userTasks = new CompletableFuture<?>[indexesByUser.size()];
+        int taskIndex = 0;
+        for (Map.Entry<Long, List<Integer>> entry : indexesByUser.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            userTasks[taskIndex++] = asyncUserExecutor.submit(entry.getKey(), () -> {
+                for (int index : indexes) {
+                    results[index] = apply(operations.get(index));
+                }
+                return null;
+            });
+        }
+        return CompletableFuture.allOf(userTasks)
+                .thenApply(ignored -> Arrays.asList(results));
     }
 
+    private PointOperationResult apply(PointOperation operation) {
+        try {
+            UserPoint userPoint = operation.type() == TransactionType.CHARGE
+                    ? chargeUserPoint(operation.userId(), operation.amount())
+                    : usePoint(operation.userId(), operation.amount());
+            return PointOperationResult.success(operation, userPoint);
+        } catch (RuntimeException e) {
+            return PointOperationResult.failure(operation, e);
+        }
+    }
 }
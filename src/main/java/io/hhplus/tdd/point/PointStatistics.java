@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 사용자의 포인트 내역 통계 (내역 저장 시점에 누적된 값)
+ * - count / chargedAmount / usedAmount : 전체 내역 건수와 충전 / 사용 금액 합계
+ * - firstUpdateMillis / lastUpdateMillis : 가장 이른 / 늦은 내역 시각 (내역이 없으면 0)
+ * - days : 일(UTC) 단위 합계, 날짜 오름차순
+ */
+public record PointStatistics(
+        long userId,
+        long count,
+        long chargedAmount,
+        long usedAmount,
+        long firstUpdateMillis,
+        long lastUpdateMillis,
+        List<PointDailyStatistics> days
+) {
+
+    public static PointStatistics empty(long userId) {
+        return new PointStatistics(userId, 0L, 0L, 0L, 0L, 0L, List.of());
+    }
+}
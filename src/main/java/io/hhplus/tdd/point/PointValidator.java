@@ -1,24 +1,53 @@
 package io.hhplus.tdd.point;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import static io.hhplus.tdd.point.PointPolicy.*;
 
+/**
+ * 충전/사용 금액 검증
+ * - 거절은 미리 만든 PointException 을 던지므로 거절마다 할당 / fillInStackTrace 가 없습니다.
+ */
 @Component
 public class PointValidator {
 
+    // 검증 규칙별 거절 횟수
+    private final Counter chargeMaximumRejections;
+    private final Counter useRangeRejections;
+
+    public PointValidator() {
+        this(new CompositeMeterRegistry());
+    }
+
+    @Autowired
+    public PointValidator(MeterRegistry meterRegistry) {
+        this.chargeMaximumRejections = rejectionCounter(meterRegistry, "charge_maximum");
+        this.useRangeRejections = rejectionCounter(meterRegistry, "use_range");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String rule) {
+        return Counter.builder("point.validation.rejections")
+                .tag("rule", rule)
+                .register(meterRegistry);
+    }
+
     public void validatedChargePoint(long amount) {
         if (amount > MAXIMUM_POINT.getAmount()) {
-            throw new RuntimeException("충전 시 최대 보유 포인트를 초과합니다.");
+            chargeMaximumRejections.increment();
+            throw PointLimitExceededException.INSTANCE;
         }
     }
 
 
     public void validatedUsePoint(long amount) {
         if (amount < ZERO_POINT.getAmount() || amount > MAXIMUM_POINT.getAmount()) {
-            throw new RuntimeException("보유 포인트를 초과하여 사용할 수 없습니다.");
+            useRangeRejections.increment();
+            throw InsufficientPointException.INSTANCE;
         }
 
     }
-
 }
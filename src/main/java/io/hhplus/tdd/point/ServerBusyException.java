@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 비동기 API 실행 스레드와 대기열이 모두 차서 요청을 실행하지 않았을 때 발생합니다. (요청을 다시 시도해도 안전)
+ */
+public final class ServerBusyException extends PointException {
+
+    public static final ServerBusyException INSTANCE = new ServerBusyException();
+
+    private ServerBusyException() {
+        super(PointErrorCode.SERVER_BUSY);
+    }
+}
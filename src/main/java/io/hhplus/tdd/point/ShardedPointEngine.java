@@ -0,0 +1,298 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryBatch;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * userId 를 hash 하여 N 개의 shard 중 하나에 배정하고, shard 마다 전용 스레드 하나가 그 사용자들의 충전/사용을 처리합니다.
+ * - 한 사용자의 변경은 항상 같은 스레드에서만 일어나므로 Lock 이 필요 없습니다.
+ * - 요청 스레드는 lock-free 대기열(ConcurrentLinkedQueue)에 요청을 넣고 결과를 기다립니다.
+ * - shard 스레드는 대기열에서 최대 batch-size 개씩 꺼내 잔액을 자체 map 에서 계산하고, 내역은 shard 의 버퍼에 모아
+ *   PointHistoryRepository.insertAll 로 한 번에 저장합니다. (저널은 batch 마다 fsync 를 한 번만 기다립니다.)
+ *   그 뒤 batch 안에서 바뀐 사용자마다 마지막 잔액만 UserPointRepository 에 한 번 저장하고 응답합니다.
+ *   (기동 후의 잔액 변경은 이 엔진을 통해야 map 과 저장소가 어긋나지 않습니다.)
+ * - 저장소 I/O 는 shard 스레드에서 직접 합니다. 동시에 진행되는 I/O 는 shard 수로, 한 번에 붙잡는 요청은 batch-size 로 제한되며,
+ *   I/O 가 느려지면 그 shard 의 요청만 대기열에서 기다립니다.
+ *   기본 테이블 저장소는 내역 한 건마다 지연이 있어 한 번에 모아도 빨라지지 않으므로,
+ *   point.history.write-behind 나 journal / columnar 저장소와 함께 사용합니다.
+ * - 종료(close) 시 처리 중인 batch 까지만 저장하고, 대기열에 남은 요청과 종료 후에 들어온 요청은 IllegalStateException 으로 실패합니다.
+ *   (종료는 batch 하나의 I/O 만큼만 기다리며, 기다리는 요청 스레드가 남지 않습니다.)
+ * - shard 수는 CPU 코어 수를 기본값으로 하며, 사용자가 고르게 분포하면 shard 수만큼 처리량이 늘어납니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine", havingValue = "sharded")
+public class ShardedPointEngine implements PointEngine {
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
+    private final PointValidator pointValidator;
+    private final UserRegistry userRegistry;
+    private final Shard[] shards;
+
+    public ShardedPointEngine(
+            PointHistoryRepository pointHistoryRepository,
+            UserPointRepository userPointRepository,
+            PointValidator pointValidator,
+            UserRegistry userRegistry,
+            ShardedProperties properties
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userPointRepository = userPointRepository;
+        this.pointValidator = pointValidator;
+        this.userRegistry = userRegistry;
+        this.shards = new Shard[properties.shardCount()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, properties.batchSize());
+            shards[i].thread.start();
+        }
+    }
+
+    @Override
+    public UserPoint charge(long userId, long amount) {
+        return submit(new Command(userId, TransactionType.CHARGE, amount));
+    }
+
+    @Override
+    public UserPoint use(long userId, long amount) {
+        return submit(new Command(userId, TransactionType.USE, amount));
+    }
+
+    private UserPoint submit(Command command) {
+        shardFor(command.userId).enqueue(command);
+        try {
+            return command.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Shard shardFor(long userId) {
+        // 연속된 userId 가 고르게 퍼지도록 섞은 뒤 나눕니다.
+        return shards[Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), shards.length)];
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    private static IllegalStateException closedException() {
+        return new IllegalStateException("포인트 엔진이 종료되었습니다.");
+    }
+
+    private final class Shard implements Runnable {
+
+        private final Queue<Command> queue = new ConcurrentLinkedQueue<>();
+        private final Thread thread;
+        private volatile boolean closed;
+        // 아래는 shard 스레드만 접근합니다.
+        private final HashMap<Long, Long> balances = new HashMap<>();
+        private final Command[] batch;
+        // 내역 버퍼와 그 내역을 만든 요청 (같은 위치)
+        private final PointHistoryBatch histories;
+        private final Command[] historyCommands;
+        // batch 안에서 잔액이 바뀐 사용자 → 저장할 마지막 잔액 / 잔액 저장에 실패한 사용자 → 원인
+        private final HashMap<Long, Long> pending = new HashMap<>();
+        private final HashMap<Long, RuntimeException> failures = new HashMap<>();
+
+        Shard(int index, int batchSize) {
+            this.thread = new Thread(this, "point-shard-" + index);
+            this.thread.setDaemon(true);
+            this.batch = new Command[Math.max(1, batchSize)];
+            this.histories = new PointHistoryBatch(batch.length);
+            this.historyCommands = new Command[batch.length];
+        }
+
+        /**
+         * - 요청을 대기열에 넣은 뒤 closed 를 다시 확인합니다. stop 은 closed 를 쓴 뒤 대기열을 비우므로,
+         *   둘 중 적어도 하나는 이 요청을 보고 실패로 돌려줍니다. (poll 은 한 번만 성공하므로 두 번 완료되지 않습니다.)
+         */
+        void enqueue(Command command) {
+            if (closed) {
+                command.result.completeExceptionally(closedException());
+                return;
+            }
+            queue.add(command);
+            if (closed) {
+                rejectPending();
+                return;
+            }
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                int size = drain();
+                if (size == 0) {
+                    // 대기열에 넣은 뒤 unpark 하므로, park 전에 들어온 요청도 놓치지 않습니다.
+                    LockSupport.park(this);
+                    continue;
+                }
+                apply(size);
+            }
+        }
+
+        private int drain() {
+            int size = 0;
+            for (Command command; size < batch.length && (command = queue.poll()) != null; ) {
+                batch[size++] = command;
+            }
+            return size;
+        }
+
+        /**
+         * - 요청마다 batch 안의 잔액(pending, 없으면 map)으로 계산하고 내역을 버퍼에 모은 뒤, 버퍼를 한 번에 저장합니다.
+         * - 내역 저장이 중간에 실패하면 저장된 내역까지만 잔액에 반영하고, 그 뒤의 요청은 모두 실패로 돌려줍니다.
+         *   (뒤의 요청은 실패한 내역의 잔액 기준으로 계산되었기 때문입니다.)
+         * - 내역을 모두 저장한 뒤 사용자마다 마지막 잔액을 한 번 저장하고, 저장이 끝난 요청부터 응답합니다.
+         */
+        private void apply(int size) {
+            for (int i = 0; i < size; i++) {
+                Command command = batch[i];
+                try {
+                    command.totalPoint = compute(command);
+                } catch (RuntimeException e) {
+                    command.result.completeExceptionally(e);
+                    batch[i] = null;
+                    continue;
+                }
+                command.updateMillis = System.currentTimeMillis();
+                pending.put(command.userId, command.totalPoint);
+                historyCommands[histories.size()] = command;
+                histories.add(command.userId, command.amount, command.type, command.updateMillis);
+            }
+
+            flushHistories();
+
+            for (Map.Entry<Long, Long> entry : pending.entrySet()) {
+                try {
+                    userPointRepository.save(entry.getKey(), entry.getValue());
+                    balances.put(entry.getKey(), entry.getValue());
+                } catch (RuntimeException e) {
+                    // 저장소와 어긋난 잔액은 버리고 다음 요청에서 다시 읽습니다.
+                    balances.remove(entry.getKey());
+                    failures.put(entry.getKey(), e);
+                }
+            }
+
+            for (int i = 0; i < size; i++) {
+                Command command = batch[i];
+                batch[i] = null;
+                if (command == null) {
+                    continue;
+                }
+                RuntimeException failure = failures.isEmpty() ? null : failures.get(command.userId);
+                if (failure != null) {
+                    command.result.completeExceptionally(failure);
+                } else {
+                    command.result.complete(new UserPoint(command.userId, command.totalPoint, command.updateMillis));
+                }
+            }
+            pending.clear();
+            failures.clear();
+        }
+
+        private void flushHistories() {
+            if (histories.size() == 0) {
+                return;
+            }
+            try {
+                pointHistoryRepository.insertAll(histories);
+            } catch (RuntimeException e) {
+                // 저장된 내역의 잔액만 다시 모으고, 나머지 요청은 실패로 돌려줍니다.
+                pending.clear();
+                for (int i = 0; i < histories.insertedCount(); i++) {
+                    pending.put(historyCommands[i].userId, historyCommands[i].totalPoint);
+                }
+                for (int i = histories.insertedCount(); i < histories.size(); i++) {
+                    historyCommands[i].result.completeExceptionally(e);
+                }
+                for (int i = 0; i < batch.length; i++) {
+                    if (batch[i] != null && batch[i].result.isDone()) {
+                        batch[i] = null;
+                    }
+                }
+            } finally {
+                Arrays.fill(historyCommands, 0, histories.size(), null);
+                histories.clear();
+            }
+        }
+
+        private long compute(Command command) {
+            long userId = command.userId;
+            if (!userRegistry.contains(userId)) {
+                throw UserNotFoundException.INSTANCE;
+            }
+
+            Long cached = pending.get(userId);
+            if (cached == null) {
+                cached = balances.get(userId);
+            }
+            long point = cached != null ? cached : userPointRepository.findPointById(userId);
+
+            if (command.type == TransactionType.CHARGE) {
+                long totalPoint = point + command.amount;
+                pointValidator.validatedChargePoint(totalPoint);
+                return totalPoint;
+            }
+            long totalPoint = point - command.amount;
+            pointValidator.validatedUsePoint(totalPoint);
+            return totalPoint;
+        }
+
+        void stop() {
+            closed = true;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // 처리하지 못한 요청은 실패로 돌려줍니다.
+            rejectPending();
+        }
+
+        private void rejectPending() {
+            for (Command command = queue.poll(); command != null; command = queue.poll()) {
+                command.result.completeExceptionally(closedException());
+            }
+        }
+    }
+
+    private static final class Command {
+
+        private final long userId;
+        private final TransactionType type;
+        private final long amount;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+        // shard 스레드만 접근합니다.
+        private long totalPoint;
+        private long updateMillis;
+
+        Command(long userId, TransactionType type, long amount) {
+            this.userId = userId;
+            this.type = type;
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * sharded 엔진 설정
+ * - shards : 사용자를 나눠 맡을 shard(전용 스레드) 수, 0 이면 CPU 코어 수
+ *   (shard 스레드가 저장소 I/O 를 직접 하므로, 동시에 진행되는 저장 I/O 도 최대 shards 개입니다.)
+ * - batch-size : shard 스레드가 한 번에 꺼내 처리하는 최대 요청 수
+ *   batch 안에서 같은 사용자의 잔액 저장은 한 번으로 합쳐지고, 요청은 batch 의 저장이 끝난 뒤 응답합니다.
+ */
+@ConfigurationProperties(prefix = "point.sharded")
+public record ShardedProperties(
+        @DefaultValue("0") int shards,
+        @DefaultValue("64") int batchSize
+) {
+
+    public int shardCount() {
+        return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,265 @@
+package io.hhplus.tdd.point;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 한 사용자의 잔액을 K 개의 stripe 로 나눠 보관합니다. (LongAdder 처럼 스레드마다 다른 stripe 를 사용)
+ * - stripe 마다 한도(quota)를 나눠 갖고, 모든 stripe 의 한도 합은 항상 MAXIMUM_POINT 입니다.
+ * - 충전은 stripe 의 남은 한도 안에서, 사용은 stripe 의 잔액 안에서 그 stripe 만 잠그고 반영합니다.
+ * - 한 stripe 로 부족하면 모든 stripe 를 잠그고 전체 잔액으로 검증한 뒤, 잔액과 한도를 stripe 에 고르게 다시 나눕니다.
+ *   (stripe 잔액은 각자의 한도를 넘지 않으므로 합계가 ZERO_POINT ~ MAXIMUM_POINT 를 벗어나지 않습니다.)
+ * - 반영한 변경(Change)은 그 stripe 의 lock 안에서 대기열에 넣으므로, 대기열 순서는 stripe 마다 반영 순서와 같습니다.
+ *   내역은 이 순서대로 historyLock 안에서 저장하고, 저장된 변경까지의 합계를 persistedTotal 로 유지합니다.
+ *   (어느 시점까지 저장해도 stripe 마다 한도 안의 값을 더한 것이므로 persistedTotal 도 범위를 벗어나지 않습니다.)
+ * - retire 이후의 충전/사용은 반영하지 않고 null 을 반환합니다. (잔액을 나누지 않는 경로로 다시 처리합니다.)
+ */
+class StripedBalance {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long maximum;
+    private final PointValidator pointValidator;
+    private volatile long updateMillis;
+    private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+    final ReentrantLock historyLock = new ReentrantLock();
+    // historyLock 안에서만 읽고 씁니다.
+    private long persistedTotal;
+    private long savedTotal;
+    // 모든 stripe 의 lock 안에서만 바꿉니다.
+    private boolean retired;
+
+    StripedBalance(int stripeCount, long balance, PointValidator pointValidator) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = count - 1;
+        this.maximum = PointPolicy.MAXIMUM_POINT.getAmount();
+        this.pointValidator = pointValidator;
+        this.updateMillis = System.currentTimeMillis();
+        this.persistedTotal = balance;
+        this.savedTotal = balance;
+        spread(balance);
+    }
+
+    /**
+     * 충전을 반영한 변경을 반환합니다. (totalPoint 는 충전 후 합계로, stripe 하나로 반영했다면 동시에 반영 중인 다른 stripe 의 값이 섞일 수 있음)
+     */
+    Change charge(long amount) {
+        Stripe stripe = stripeForCurrentThread();
+        stripe.lock.lock();
+        try {
+            if (retired) {
+                return null;
+            }
+            if (stripe.quota - stripe.balance >= amount) {
+                stripe.balance += amount;
+                return committed(TransactionType.CHARGE, amount, total());
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        return rebalance(TransactionType.CHARGE, amount);
+    }
+
+    /**
+     * 사용을 반영한 변경을 반환합니다.
+     */
+    Change use(long amount) {
+        Stripe stripe = stripeForCurrentThread();
+        stripe.lock.lock();
+        try {
+            if (retired) {
+                return null;
+            }
+            if (stripe.balance >= amount) {
+                stripe.balance -= amount;
+                return committed(TransactionType.USE, amount, total());
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        return rebalance(TransactionType.USE, amount);
+    }
+
+    long total() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.balance;
+        }
+        return total;
+    }
+
+    long updateMillis() {
+        return updateMillis;
+    }
+
+    /**
+     * 아직 내역을 저장하지 않은 가장 오래된 변경 (historyLock 안에서 호출합니다.)
+     */
+    Change pollChange() {
+        return changes.poll();
+    }
+
+    /**
+     * change 의 내역이 저장되었습니다. (historyLock 안에서 호출합니다.)
+     */
+    void persisted(Change change) {
+        persistedTotal += change.type == TransactionType.CHARGE ? change.amount : -change.amount;
+        change.persisted = true;
+    }
+
+    /**
+     * 내역을 저장하지 못한 변경을 모두 failure 로 실패시키고, 잔액을 내역이 저장된 변경까지의 합계로 되돌립니다.
+     * (historyLock 안에서 호출합니다.)
+     */
+    void rollback(RuntimeException failure) {
+        lockAll();
+        try {
+            for (Change change = changes.poll(); change != null; change = changes.poll()) {
+                change.failure = failure;
+            }
+            spread(persistedTotal);
+            updateMillis = System.currentTimeMillis();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * 내역이 저장된 변경까지의 합계 (historyLock 안에서 호출합니다.)
+     */
+    long persistedTotal() {
+        return persistedTotal;
+    }
+
+    /**
+     * 마지막으로 저장소에 저장한 합계와 persistedTotal 이 다른지 (historyLock 안에서 호출합니다.)
+     */
+    boolean unsaved() {
+        return persistedTotal != savedTotal;
+    }
+
+    // historyLock 안에서 호출합니다.
+    void saved(long total) {
+        savedTotal = total;
+    }
+
+    /**
+     * 이후의 충전/사용을 받지 않습니다. 이미 반영된 변경은 대기열에 남아 있으므로 내역 저장은 계속 할 수 있습니다.
+     */
+    void retire() {
+        lockAll();
+        try {
+            retired = true;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // 해제하지 못했을 때 다시 충전/사용을 받습니다.
+    void reopen() {
+        lockAll();
+        try {
+            retired = false;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // stripe lock 안에서 호출합니다.
+    private Change committed(TransactionType type, long amount, long totalPoint) {
+        long now = System.currentTimeMillis();
+        updateMillis = now;
+        Change change = new Change(type, amount, totalPoint, now);
+        changes.add(change);
+        return change;
+    }
+
+    private Change rebalance(TransactionType type, long amount) {
+        lockAll();
+        try {
+            if (retired) {
+                return null;
+            }
+            long total = total();
+            long next;
+            if (type == TransactionType.CHARGE) {
+                next = total + amount;
+                pointValidator.validatedChargePoint(next);
+            } else {
+                next = total - amount;
+                pointValidator.validatedUsePoint(next);
+            }
+            spread(next);
+            return committed(type, amount, next);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // 항상 같은 순서로 잠가 교착을 피합니다.
+    private void lockAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].lock.unlock();
+        }
+    }
+
+    // 모든 stripe 를 잠근 상태(또는 생성 중)에서만 호출합니다.
+    private void spread(long total) {
+        long headroom = maximum - total;
+        for (int i = 0; i < stripes.length; i++) {
+            long balance = share(total, i);
+            stripes[i].balance = balance;
+            stripes[i].quota = balance + share(headroom, i);
+        }
+    }
+
+    private long share(long value, int index) {
+        long base = value / stripes.length;
+        return index < value % stripes.length ? base + 1 : base;
+    }
+
+    private Stripe stripeForCurrentThread() {
+        long h = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h ^ (h >>> 32)) & mask];
+    }
+
+    /**
+     * 반영된 충전/사용 하나
+     * - persisted / failure 는 historyLock 안에서만 읽고 씁니다.
+     */
+    static final class Change {
+
+        final TransactionType type;
+        final long amount;
+        final long totalPoint;
+        final long updateMillis;
+        boolean persisted;
+        RuntimeException failure;
+
+        private Change(TransactionType type, long amount, long totalPoint, long updateMillis) {
+            this.type = type;
+            this.amount = amount;
+            this.totalPoint = totalPoint;
+            this.updateMillis = updateMillis;
+        }
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // 합계는 lock 없이 읽으므로 volatile 로 둡니다.
+        private volatile long balance;
+        private long quota;
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Set;
+
+/**
+ * striped 엔진 설정
+ * - stripes : 잔액을 나눌 stripe 수
+ * - user-ids : 처음부터 잔액을 나눠 관리할 사용자
+ * - hot-accounts : true 이면 hot 으로 분류된 사용자도 잔액을 나눠 관리 (hot 에서 빠지면 다음 persist 주기에 해제)
+ * - persist-interval-millis : 나눠 관리하는 잔액의 합계를 UserPointRepository 에 저장하는 주기, 0 이면 종료 시에만 저장
+ */
+@ConfigurationProperties(prefix = "point.striped-balance")
+public record StripedBalanceProperties(
+        @DefaultValue("8") int stripes,
+        @DefaultValue Set<Long> userIds,
+        @DefaultValue("true") boolean hotAccounts,
+        @DefaultValue("1000") long persistIntervalMillis
+) {
+}
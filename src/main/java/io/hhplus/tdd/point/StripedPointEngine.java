@@ -0,0 +1,241 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockExecutor;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지정된 사용자(와 hot 계정)의 잔액은 StripedBalance 로 나눠 관리하고, 나머지는 lock 엔진과 같은 방식으로 처리합니다.
+ * - 잔액을 나눈 사용자의 충전/사용은 사용자 Lock 없이 stripe 단위로 반영됩니다.
+ * - 내역은 사용자마다 historyLock 안에서 반영된 순서대로 저장합니다. 먼저 lock 을 잡은 요청이 그때까지 반영된 변경의 내역을 모두 저장하고,
+ *   요청은 자신의 내역이 저장된 뒤 응답합니다. 내역 저장이 실패하면 저장하지 못한 변경은 모두 실패로 응답하고 잔액을 되돌립니다.
+ * - 잔액을 나눈 사용자의 잔액은 조회 시 stripe 합계로 응답하고, UserPointRepository 에는 persist-interval-millis 주기와
+ *   잔액 나누기를 해제할 때 내역이 저장된 변경까지의 합계를 저장합니다. (hot 에서 빠진 사용자는 이 주기에 해제합니다.)
+ * - 나누기 / 해제는 사용자 Lock 안에서 하고, Lock 경로는 Lock 을 얻은 뒤 다시 확인하므로 전환 중에도 변경이 유실되지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine", havingValue = "striped")
+public class StripedPointEngine implements PointEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(StripedPointEngine.class);
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
+    private final LockExecutor lockExecutor;
+    private final PointValidator pointValidator;
+    private final UserRegistry userRegistry;
+    private final HotAccountDetector hotAccountDetector;
+    private final StripedBalanceProperties properties;
+    private final ConcurrentHashMap<Long, StripedBalance> stripedBalances = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public StripedPointEngine(
+            PointHistoryRepository pointHistoryRepository,
+            UserPointRepository userPointRepository,
+            LockExecutor lockExecutor,
+            PointValidator pointValidator,
+            UserRegistry userRegistry,
+            HotAccountDetector hotAccountDetector,
+            StripedBalanceProperties properties
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userPointRepository = userPointRepository;
+        this.lockExecutor = lockExecutor;
+        this.pointValidator = pointValidator;
+        this.userRegistry = userRegistry;
+        this.hotAccountDetector = hotAccountDetector;
+        this.properties = properties;
+        if (properties.hotAccounts()) {
+            hotAccountDetector.activate();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.persistIntervalMillis() <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-striped-balance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::persistQuietly, properties.persistIntervalMillis(), properties.persistIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        persistQuietly();
+    }
+
+    @Override
+    public UserPoint charge(long userId, long amount) {
+        return apply(userId, TransactionType.CHARGE, amount);
+    }
+
+    @Override
+    public UserPoint use(long userId, long amount) {
+        return apply(userId, TransactionType.USE, amount);
+    }
+
+    @Override
+    public UserPoint findUserPoint(long userId) {
+        StripedBalance stripedBalance = stripedBalances.get(userId);
+        return stripedBalance == null ? null : new UserPoint(userId, stripedBalance.total(), stripedBalance.updateMillis());
+    }
+
+    private UserPoint apply(long userId, TransactionType type, long amount) {
+        if (!userRegistry.contains(userId)) {
+            throw UserNotFoundException.INSTANCE;
+        }
+
+        StripedBalance stripedBalance = stripedBalances.get(userId);
+        if (stripedBalance == null && shouldStripe(userId)) {
+            stripedBalance = stripe(userId);
+        }
+        if (stripedBalance != null) {
+            StripedBalance.Change change = type == TransactionType.CHARGE ? stripedBalance.charge(amount) : stripedBalance.use(amount);
+            if (change != null) {
+                return persist(userId, stripedBalance, change);
+            }
+            // 잔액 나누기를 해제하는 중이면 해제가 끝난 뒤 Lock 경로에서 처리합니다.
+        }
+
+        UserPoint userPoint = lockExecutor.executeWithUserLock(userId, type == TransactionType.CHARGE ? "charge" : "use", () -> {
+            // Lock 을 기다리는 동안 잔액이 나뉘었다면 stripe 경로로 다시 처리합니다.
+            if (stripedBalances.containsKey(userId)) {
+                return null;
+            }
+            long point = userPointRepository.findPointById(userId);
+            long totalPoint;
+            if (type == TransactionType.CHARGE) {
+                totalPoint = point + amount;
+                pointValidator.validatedChargePoint(totalPoint);
+            } else {
+                totalPoint = point - amount;
+                pointValidator.validatedUsePoint(totalPoint);
+            }
+            pointHistoryRepository.insert(userId, amount, type, System.currentTimeMillis());
+            return userPointRepository.save(userId, totalPoint);
+        });
+        return userPoint != null ? userPoint : apply(userId, type, amount);
+    }
+
+    /**
+     * change 의 내역이 저장될 때까지 기다립니다. 아직 아무도 저장하지 않았으면 지금까지 반영된 변경의 내역을 모두 저장합니다.
+     */
+    private UserPoint persist(long userId, StripedBalance stripedBalance, StripedBalance.Change change) {
+        stripedBalance.historyLock.lock();
+        try {
+            if (!change.persisted && change.failure == null) {
+                flushHistory(userId, stripedBalance);
+            }
+            if (change.failure != null) {
+                throw change.failure;
+            }
+            return new UserPoint(userId, change.totalPoint, change.updateMillis);
+        } finally {
+            stripedBalance.historyLock.unlock();
+        }
+    }
+
+    // historyLock 안에서 호출합니다.
+    private void flushHistory(long userId, StripedBalance stripedBalance) {
+        for (StripedBalance.Change change = stripedBalance.pollChange(); change != null; change = stripedBalance.pollChange()) {
+            try {
+                pointHistoryRepository.insert(userId, change.amount, change.type, change.updateMillis);
+            } catch (RuntimeException e) {
+                change.failure = e;
+                stripedBalance.rollback(e);
+                return;
+            }
+            stripedBalance.persisted(change);
+        }
+    }
+
+    /**
+     * 잔액을 나눈 사용자의 합계를 UserPointRepository 에 저장하고, 더 이상 나눌 대상이 아닌 사용자는 잔액 나누기를 해제합니다.
+     */
+    public void persistStripedBalances() {
+        for (Map.Entry<Long, StripedBalance> entry : stripedBalances.entrySet()) {
+            long userId = entry.getKey();
+            if (shouldStripe(userId)) {
+                save(userId, entry.getValue());
+            } else {
+                unstripe(userId);
+            }
+        }
+    }
+
+    private void save(long userId, StripedBalance stripedBalance) {
+        stripedBalance.historyLock.lock();
+        try {
+            flushHistory(userId, stripedBalance);
+            if (stripedBalance.unsaved()) {
+                long total = stripedBalance.persistedTotal();
+                userPointRepository.save(userId, total);
+                stripedBalance.saved(total);
+            }
+        } finally {
+            stripedBalance.historyLock.unlock();
+        }
+    }
+
+    /**
+     * - 더 이상 충전/사용을 받지 않게 한 뒤 남은 내역과 합계를 저장하고 나서 map 에서 제거합니다.
+     *   그 사이 요청은 Lock 경로에서 사용자 Lock 을 기다리므로, 해제 후에는 저장된 합계를 기준으로 처리됩니다.
+     */
+    private void unstripe(long userId) {
+        lockExecutor.executeWithUserLock(userId, "unstripe", () -> {
+            StripedBalance stripedBalance = stripedBalances.get(userId);
+            if (stripedBalance == null) {
+                return null;
+            }
+            stripedBalance.retire();
+            try {
+                save(userId, stripedBalance);
+            } catch (RuntimeException e) {
+                stripedBalance.reopen();
+                throw e;
+            }
+            stripedBalances.remove(userId);
+            return null;
+        });
+    }
+
+    private void persistQuietly() {
+        try {
+            persistStripedBalances();
+        } catch (RuntimeException e) {
+            log.error("나눠 관리하는 잔액 저장에 실패했습니다.", e);
+        }
+    }
+
+    private boolean shouldStripe(long userId) {
+        return properties.userIds().contains(userId)
+                || (properties.hotAccounts() && hotAccountDetector.isHot(userId));
+    }
+
+    private StripedBalance stripe(long userId) {
+        return lockExecutor.executeWithUserLock(userId, "stripe", () -> stripedBalances.computeIfAbsent(
+                userId,
+                key -> new StripedBalance(properties.stripes(), userPointRepository.findPointById(userId), pointValidator)
+        ));
+    }
+}
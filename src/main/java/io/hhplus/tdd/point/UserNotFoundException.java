@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역이 한 번도 저장되지 않은 사용자를 조회 / 충전 / 사용할 때 발생합니다.
+ */
+public final class UserNotFoundException extends PointException {
+
+    public static final UserNotFoundException INSTANCE = new UserNotFoundException();
+
+    private UserNotFoundException() {
+        super(PointErrorCode.USER_NOT_FOUND);
+    }
+}
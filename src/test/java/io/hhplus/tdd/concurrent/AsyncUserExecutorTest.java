@@ -0,0 +1,141 @@
+package io.hhplus.tdd.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncUserExecutorTest {
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(8);
+    private final AsyncUserExecutor asyncUserExecutor = new AsyncUserExecutor(executorService);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 userId 의 작업은 제출한 순서대로 하나씩 실행된다.")
+    void 같은_userId_작업은_제출_순서대로_실행() {
+        // given
+        long userId = 1L;
+        List<Integer> executed = new ArrayList<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            int order = i;
+            futures.add(asyncUserExecutor.submit(userId, () -> {
+                executed.add(order);
+                return order;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(executed).hasSize(100).isSorted();
+        assertThat(asyncUserExecutor.pendingUserCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("앞선 작업이 실패해도 다음 작업은 실행된다.")
+    void 앞선_작업_실패해도_다음_작업_실행() {
+        // given
+        long userId = 1L;
+
+        // when
+        CompletableFuture<Integer> failed = asyncUserExecutor.submit(userId, () -> {
+            throw new RuntimeException("실패");
+        });
+        CompletableFuture<Integer> next = asyncUserExecutor.submit(userId, () -> 1);
+
+        // then
+        assertThat(next.join()).isEqualTo(1);
+        assertThat(failed).isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("사용자 대기열에 max-queue-depth 만큼 기다리고 있으면 다음 작업은 대기열에 넣지 않고 QUEUE_FULL 로 거절한다.")
+    void 대기열이_가득_차면_QUEUE_FULL_거절() throws InterruptedException {
+        // given
+        AsyncUserExecutor limitedExecutor = new AsyncUserExecutor(executorService, 0L, 2, new SimpleMeterRegistry());
+        long userId = 1L;
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> blocking = limitedExecutor.submit(userId, () -> {
+            running.countDown();
+            await(release);
+            return 0;
+        });
+        running.await();
+        CompletableFuture<Integer> first = limitedExecutor.submit(userId, () -> 1);
+        CompletableFuture<Integer> second = limitedExecutor.submit(userId, () -> 2);
+
+        // when
+        CompletableFuture<Integer> rejected = limitedExecutor.submit(userId, () -> 3);
+        CompletableFuture<Integer> otherUser = limitedExecutor.submit(2L, () -> 4);
+
+        // then
+        assertThatThrownBy(rejected::join)
+                .hasCauseInstanceOf(LockRejectedException.class)
+                .cause()
+                .extracting("reason").isEqualTo(LockRejectedException.Reason.QUEUE_FULL);
+        assertThat(otherUser.join()).isEqualTo(4);
+
+        release.countDown();
+        assertThat(blocking.join()).isZero();
+        assertThat(first.join()).isEqualTo(1);
+        assertThat(second.join()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("timeout-millis 를 넘겨 기다린 작업은 실행하지 않고 TIMEOUT 으로 거절하고, 다음 작업은 이어서 실행한다.")
+    void 기한을_넘긴_작업은_TIMEOUT_거절() throws InterruptedException {
+        // given
+        AsyncUserExecutor limitedExecutor = new AsyncUserExecutor(executorService, 50L, 0, new SimpleMeterRegistry());
+        long userId = 1L;
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean expiredTaskRan = new AtomicBoolean();
+        limitedExecutor.submit(userId, () -> {
+            await(release);
+            return 0;
+        });
+        CompletableFuture<Integer> expired = limitedExecutor.submit(userId, () -> {
+            expiredTaskRan.set(true);
+            return 1;
+        });
+
+        // when
+        Thread.sleep(100);
+        release.countDown();
+        CompletableFuture<Integer> next = limitedExecutor.submit(userId, () -> 2);
+
+        // then
+        assertThatThrownBy(expired::join)
+                .hasCauseInstanceOf(LockRejectedException.class)
+                .cause()
+                .extracting("reason").isEqualTo(LockRejectedException.Reason.TIMEOUT);
+        assertThat(expiredTaskRan).isFalse();
+        assertThat(next.join()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.hhplus.tdd.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentLongMapTest {
+
+    @Test
+    @DisplayName("여러 스레드가 같은 key 로 동시에 computeIfAbsent 해도 값은 key 당 한 번만 만들어진다.")
+    void 동시_computeIfAbsent시_한번만_생성() throws InterruptedException {
+        // given
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>();
+        AtomicInteger created = new AtomicInteger();
+        int threadCount = 8;
+        int keyCount = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            executorService.submit(() -> {
+                try {
+                    for (long key = 1; key <= keyCount; key++) {
+                        map.computeIfAbsent(key, value -> {
+                            created.incrementAndGet();
+                            return value * 10;
+                        });
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(created.get()).isEqualTo(keyCount);
+        assertThat(map.size()).isEqualTo(keyCount);
+        assertThat(map.get(keyCount)).isEqualTo(keyCount * 10L);
+        assertThat(map.get(keyCount + 1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("빈 슬롯 표시값인 0 도 key 로 저장할 수 있다.")
+    void 영도_key로_저장() {
+        // given
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+
+        // when
+        map.computeIfAbsent(0L, key -> "zero");
+
+        // then
+        assertThat(map.get(0L)).isEqualTo("zero");
+        assertThat(map.computeIfAbsent(0L, key -> "other")).isEqualTo("zero");
+        assertThat(map.size()).isEqualTo(1L);
+    }
+}
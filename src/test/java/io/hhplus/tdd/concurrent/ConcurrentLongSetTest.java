@@ -0,0 +1,72 @@
+package io.hhplus.tdd.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentLongSetTest {
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 추가해도 모든 값이 누락 없이 저장된다.")
+    void 동시_추가시_누락_없음() throws InterruptedException {
+        // given
+        ConcurrentLongSet set = new ConcurrentLongSet();
+        int threadCount = 8;
+        int perThread = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            long offset = t;
+            executorService.submit(() -> {
+                try {
+                    for (long i = 1; i <= perThread; i++) {
+                        set.add(i * threadCount + offset);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        assertThat(set.size()).isEqualTo((long) threadCount * perThread);
+        assertThat(set.contains(threadCount + 1L)).isTrue();
+        assertThat(set.contains(-1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("이미 존재하는 값을 추가하면 false 를 반환한다.")
+    void 중복_추가시_false() {
+        // given
+        ConcurrentLongSet set = new ConcurrentLongSet();
+        set.add(10L);
+
+        // when & then
+        assertThat(set.add(10L)).isFalse();
+        assertThat(set.size()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("빈 슬롯 표시값인 0 도 다른 값처럼 저장하고 조회할 수 있다.")
+    void 영도_저장_가능() {
+        // given
+        ConcurrentLongSet set = new ConcurrentLongSet();
+
+        // when
+        boolean added = set.add(0L);
+
+        // then
+        assertThat(added).isTrue();
+        assertThat(set.add(0L)).isFalse();
+        assertThat(set.contains(0L)).isTrue();
+        assertThat(set.size()).isEqualTo(1L);
+    }
+}
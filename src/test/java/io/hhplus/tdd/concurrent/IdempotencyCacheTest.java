@@ -0,0 +1,89 @@
+package io.hhplus.tdd.concurrent;
+
+import io.hhplus.tdd.point.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IdempotencyCacheTest {
+
+    private final IdempotencyCache idempotencyCache = new IdempotencyCache(new IdempotencyProperties(1_000, 60_000));
+
+    @Test
+    @DisplayName("같은 userId 와 key 로 다시 요청하면 실행 중인 요청을 기다려 같은 결과를 받는다.")
+    void 실행_중인_중복_요청은_같은_결과를_기다림() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<Integer> inFlight = new CompletableFuture<>();
+
+        // when
+        CompletableFuture<Integer> first = idempotencyCache.execute(1L, "key", "charge:100", () -> {
+            executions.incrementAndGet();
+            return inFlight;
+        });
+        CompletableFuture<Integer> retry = idempotencyCache.execute(1L, "key", "charge:100", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(-1);
+        });
+        CompletableFuture<Integer> otherUser = idempotencyCache.execute(2L, "key", "charge:100", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(2);
+        });
+        inFlight.complete(1);
+
+        // then
+        assertThat(first.join()).isEqualTo(1);
+        assertThat(retry.join()).isEqualTo(1);
+        assertThat(otherUser.join()).isEqualTo(2);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 기억하지 않아 같은 key 로 다시 실행되고, 다른 요청에 같은 key 를 쓰면 거절된다.")
+    void 실패한_요청은_재실행되고_다른_요청은_거절() {
+        // given
+        idempotencyCache.execute(1L, "key", "use:100", () -> CompletableFuture.failedFuture(new RuntimeException("실패")));
+
+        // when
+        CompletableFuture<Integer> retry = idempotencyCache.execute(1L, "key", "use:100", () -> CompletableFuture.completedFuture(1));
+        CompletableFuture<Integer> mismatch = idempotencyCache.execute(1L, "key", "use:200", () -> CompletableFuture.completedFuture(2));
+
+        // then
+        assertThat(retry.join()).isEqualTo(1);
+        assertThatThrownBy(mismatch::join).hasCause(IdempotencyKeyReusedException.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘겨 완료된 결과가 제거되어도 실행 중인 요청은 제거되지 않아 중복 요청이 다시 실행되지 않는다.")
+    void 실행_중인_요청은_제거되지_않음() {
+        // given
+        IdempotencyCache smallCache = new IdempotencyCache(new IdempotencyProperties(16, 60_000));
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<Integer> inFlight = new CompletableFuture<>();
+        CompletableFuture<Integer> first = smallCache.execute(1L, "in-flight", "charge:100", () -> {
+            executions.incrementAndGet();
+            return inFlight;
+        });
+
+        // when
+        for (long userId = 2; userId <= 1_000; userId++) {
+            smallCache.execute(userId, "key", "charge:100", () -> CompletableFuture.completedFuture(0));
+        }
+        CompletableFuture<Integer> retry = smallCache.execute(1L, "in-flight", "charge:100", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(-1);
+        });
+        inFlight.complete(1);
+
+        // then
+        assertThat(smallCache.size()).isLessThanOrEqualTo(17L);
+        assertThat(first.join()).isEqualTo(1);
+        assertThat(retry.join()).isEqualTo(1);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+}
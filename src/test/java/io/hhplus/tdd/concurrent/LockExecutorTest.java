@@ -0,0 +1,134 @@
+package io.hhplus.tdd.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LockExecutorTest {
+
+    static Stream<UserLockStrategy> strategies() {
+        return Stream.of(new MapLockStrategy(), new StripedLockStrategy(16), new RefCountedLockStrategy());
+    }
+
+    @ParameterizedTest
+    @MethodSource("strategies")
+    @DisplayName("같은 userId 의 작업은 어떤 Lock 전략에서도 순차적으로 실행된다.")
+    void 같은_userId_작업은_순차_실행(UserLockStrategy strategy) throws InterruptedException {
+        // given
+        LockExecutor lockExecutor = new LockExecutor(strategy);
+        long userId = 1L;
+        int threadCount = 20;
+        int[] counter = {0};
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < 1_000; j++) {
+                        lockExecutor.executeWithUserLock(userId, () -> counter[0]++);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        assertThat(counter[0]).isEqualTo(threadCount * 1_000);
+    }
+
+    @Test
+    @DisplayName("ref-counted 전략은 사용이 끝난 Lock 을 제거한다.")
+    void ref_counted_전략은_미사용_Lock_제거() {
+        // given
+        LockExecutor lockExecutor = new LockExecutor(new RefCountedLockStrategy());
+
+        // when
+        for (long userId = 1; userId <= 100; userId++) {
+            lockExecutor.executeWithUserLock(userId, () -> null);
+        }
+
+        // then
+        assertThat(lockExecutor.lockCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("striped 전략은 사용자 수와 무관하게 Lock 개수가 고정된다.")
+    void striped_전략은_Lock_개수_고정() {
+        // given
+        LockExecutor lockExecutor = new LockExecutor(new StripedLockStrategy(16));
+
+        // when
+        for (long userId = 1; userId <= 100; userId++) {
+            lockExecutor.executeWithUserLock(userId, () -> null);
+        }
+
+        // then
+        assertThat(lockExecutor.lockCount()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Lock 을 기다리는 요청이 max-queue-depth 이상이면 기다리지 않고 거절하고, 기다린 요청은 timeout 후 거절한다.")
+    void 대기열_초과와_대기_시간_초과시_거절() throws InterruptedException {
+        // given
+        long userId = 1L;
+        MapLockStrategy strategy = new MapLockStrategy(true);
+        LockExecutor lockExecutor = new LockExecutor(strategy, 200L, 1, new SimpleMeterRegistry());
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        executorService.submit(() -> lockExecutor.executeWithUserLock(userId, () -> {
+            holding.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holding.await();
+
+        // when
+        CountDownLatch waiting = new CountDownLatch(1);
+        LockRejectedException[] timeout = new LockRejectedException[1];
+        executorService.submit(() -> {
+            try {
+                lockExecutor.executeWithUserLock(userId, () -> null);
+            } catch (LockRejectedException e) {
+                timeout[0] = e;
+            } finally {
+                waiting.countDown();
+            }
+        });
+        // 두 번째 요청이 대기열에 들어갈 때까지 기다립니다.
+        ReentrantLock lock = (ReentrantLock) strategy.obtain(userId);
+        while (!lock.hasQueuedThreads()) {
+            Thread.onSpinWait();
+        }
+        LockRejectedException queueFull = assertThrows(
+                LockRejectedException.class,
+                () -> lockExecutor.executeWithUserLock(userId, () -> null)
+        );
+        waiting.await();
+        finish.countDown();
+        executorService.shutdown();
+
+        // then
+        assertThat(queueFull.getReason()).isEqualTo(LockRejectedException.Reason.QUEUE_FULL);
+        assertThat(timeout[0].getReason()).isEqualTo(LockRejectedException.Reason.TIMEOUT);
+    }
+}
@@ -0,0 +1,143 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointStatistics;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BalanceSnapshotterTest {
+
+    @TempDir
+    Path directory;
+
+    private PointHistoryRepository journalRepository() {
+        return new PointHistoryRepository(
+                new PointHistoryTable(),
+                new UserRegistry(),
+                new PointHistoryProperties(
+                        PointHistoryProperties.WriteBehind.disabled(),
+                        new PointHistoryProperties.Journal(true, directory.resolve("journal").toString(), 1024, 10, false),
+                        PointHistoryProperties.Columnar.disabled()
+                ),
+                snapshotProperties(),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    private BalanceSnapshotProperties snapshotProperties() {
+        return new BalanceSnapshotProperties(true, directory.resolve("snapshot").toString(), 60_000, 2);
+    }
+
+    private BalanceSnapshotter snapshotter(PointHistoryRepository pointHistoryRepository) {
+        return new BalanceSnapshotter(pointHistoryRepository, snapshotProperties());
+    }
+
+    @Test
+    @DisplayName("재기동 시 최신 스냅샷을 적용하고 그 이후 내역만 replay 하여 잔액을 복구한다.")
+    void 스냅샷_이후_내역만_replay() {
+        // given
+        long userId = 1L;
+        PointHistoryRepository before = journalRepository();
+        before.insert(userId, 1_000L, TransactionType.CHARGE, 1_000L);
+        before.insert(userId, 300L, TransactionType.USE, 2_000L);
+        long snapshotHistoryId = snapshotter(before).snapshot();
+        before.insert(userId, 50L, TransactionType.USE, 3_000L);
+        before.insert(2L, 500L, TransactionType.CHARGE, 4_000L);
+        before.close();
+
+        // when
+        PointHistoryRepository after = journalRepository();
+        BalanceSnapshotter balanceSnapshotter = snapshotter(after);
+        UserPointRepository userPointRepository = new UserPointRepository(new UserPointTable(), new BalanceCacheProperties(true, 100), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+        new PointBalanceRecovery(after, userPointRepository, balanceSnapshotter).recover();
+
+        // then
+        assertThat(snapshotHistoryId).isEqualTo(2L);
+        assertThat(balanceSnapshotter.latest(after.recoveredCount()))
+                .hasValueSatisfying(snapshot -> assertThat(snapshot.lastHistoryId()).isEqualTo(2L));
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(650L);
+        assertThat(userPointRepository.findById(2L).point()).isEqualTo(500L);
+        after.close();
+    }
+
+    @Test
+    @DisplayName("재기동 시 스냅샷 이전 내역은 읽지 않고, 사용자별 내역 인덱스와 통계를 스냅샷과 이후 내역으로 복구한다.")
+    void 스냅샷으로_인덱스와_통계_복구() throws Exception {
+        // given
+        long userId = 1L;
+        long otherUserId = 2L;
+        PointHistoryRepository before = journalRepository();
+        List<PointHistory> saved = new ArrayList<>();
+        saved.add(before.insert(userId, 1_000L, TransactionType.CHARGE, 1_000L));
+        before.insert(otherUserId, 500L, TransactionType.CHARGE, 1_000L);
+        saved.add(before.insert(userId, 300L, TransactionType.USE, 2_000L));
+        snapshotter(before).snapshot();
+        saved.add(before.insert(userId, 50L, TransactionType.USE, 3_000L));
+        before.close();
+
+        // 스냅샷 이전 내역(id 1)의 금액을 바꿔도 기동 시 다시 읽지 않으므로 통계와 잔액은 그대로입니다.
+        try (RandomAccessFile segment = new RandomAccessFile(directory.resolve("journal").resolve("segment-0000000000.journal").toFile(), "rw")) {
+            segment.seek(16);
+            segment.writeLong(9_999L);
+        }
+
+        // when
+        PointHistoryRepository after = journalRepository();
+        UserPointRepository userPointRepository = new UserPointRepository(new UserPointTable(), new BalanceCacheProperties(true, 100), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+        new PointBalanceRecovery(after, userPointRepository, snapshotter(after)).recover();
+        PointHistory appended = after.insert(userId, 10L, TransactionType.CHARGE, 4_000L);
+
+        // then
+        PointStatistics statistics = after.findStatisticsByUserId(userId, null, null);
+        assertThat(statistics.count()).isEqualTo(4L);
+        assertThat(statistics.chargedAmount()).isEqualTo(1_010L);
+        assertThat(statistics.usedAmount()).isEqualTo(350L);
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(650L);
+        assertThat(after.findAllByUserId(userId)).extracting(PointHistory::id)
+                .containsExactly(saved.get(0).id(), saved.get(1).id(), saved.get(2).id(), appended.id());
+        assertThat(after.findAllByUserId(otherUserId)).hasSize(1);
+        after.close();
+    }
+
+    @Test
+    @DisplayName("최신 스냅샷이 손상되었으면 이전 스냅샷을 사용하고, 오래된 스냅샷은 retained 개수만 남긴다.")
+    void 손상된_스냅샷은_건너뜀() throws Exception {
+        // given
+        long userId = 1L;
+        PointHistoryRepository pointHistoryRepository = journalRepository();
+        BalanceSnapshotter balanceSnapshotter = snapshotter(pointHistoryRepository);
+        for (int i = 1; i <= 3; i++) {
+            pointHistoryRepository.insert(userId, 100L, TransactionType.CHARGE, i);
+            balanceSnapshotter.snapshot();
+        }
+
+        // when
+        Path newest;
+        try (Stream<Path> files = Files.list(directory.resolve("snapshot"))) {
+            newest = files.sorted().reduce((first, second) -> second).orElseThrow();
+        }
+        Files.write(newest, new byte[]{1, 2, 3});
+
+        // then
+        try (Stream<Path> files = Files.list(directory.resolve("snapshot"))) {
+            assertThat(files.count()).isEqualTo(2L);
+        }
+        assertThat(balanceSnapshotter.latest(Long.MAX_VALUE)).hasValueSatisfying(snapshot -> {
+            assertThat(snapshot.lastHistoryId()).isEqualTo(2L);
+            assertThat(snapshot.points()).containsExactly(200L);
+        });
+        pointHistoryRepository.close();
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryAggregate;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ColumnarPointHistoryStoreTest {
+
+    // chunk 경계를 여러 번 넘도록 작은 chunk 를 사용합니다.
+    private final ColumnarPointHistoryStore store = new ColumnarPointHistoryStore(4);
+
+    @Test
+    @DisplayName("chunk 경계를 넘어 저장해도 사용자별 내역이 저장 순서대로 조회된다.")
+    void chunk_경계를_넘어_사용자별_조회() {
+        // given
+        List<PointHistory> saved = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            PointHistory pointHistory = store.insert(i % 2 == 0 ? 1L : 2L, i * 10L, TransactionType.CHARGE, i);
+            if (pointHistory.userId() == 1L) {
+                saved.add(pointHistory);
+            }
+        }
+
+        // when
+        List<PointHistory> histories = store.findAllByUserId(1L);
+
+        // then
+        assertThat(histories).containsExactlyElementsOf(saved);
+        assertThat(histories).extracting(PointHistory::id).containsExactly(2L, 4L, 6L, 8L, 10L);
+        assertThat(store.findAllByUserId(99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("조건 조회는 cursor, 종류, 기간, limit 을 적용하고, 합계는 limit 없이 조건에 맞는 내역을 모두 더한다.")
+    void 조건_조회와_합계() {
+        // given
+        long userId = 1L;
+        store.insert(userId, 1_000L, TransactionType.CHARGE, 100L);
+        store.insert(userId, 200L, TransactionType.USE, 200L);
+        store.insert(userId, 500L, TransactionType.CHARGE, 300L);
+        store.insert(userId, 100L, TransactionType.USE, 400L);
+        store.insert(userId, 300L, TransactionType.CHARGE, 500L);
+        PointHistoryQuery charges = new PointHistoryQuery(1L, 1, TransactionType.CHARGE, 0L, 450L);
+
+        // when
+        List<PointHistory> histories = new ArrayList<>();
+        store.forEachByUserId(userId, charges, histories::add);
+        PointHistoryAggregate filtered = store.aggregateByUserId(userId, charges);
+        PointHistoryAggregate all = store.aggregateByUserId(userId, PointHistoryQuery.all());
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(500L);
+        assertThat(filtered).isEqualTo(new PointHistoryAggregate(1L, 500L, 0L));
+        assertThat(all).isEqualTo(new PointHistoryAggregate(5L, 1_800L, 300L));
+    }
+}
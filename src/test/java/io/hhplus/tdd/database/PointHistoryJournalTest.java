@@ -0,0 +1,207 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PointHistoryJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private PointHistoryProperties.Journal journalProperties(int segmentBytes) {
+        return new PointHistoryProperties.Journal(true, directory.toString(), segmentBytes, 10, false);
+    }
+
+    private PointHistoryProperties.Journal ackBeforeSyncProperties(long syncIntervalMillis) {
+        return new PointHistoryProperties.Journal(true, directory.toString(), 1024, syncIntervalMillis, true);
+    }
+
+    private PointHistoryRepository journalRepository(UserRegistry userRegistry) {
+        return new PointHistoryRepository(
+                new PointHistoryTable(),
+                userRegistry,
+                new PointHistoryProperties(PointHistoryProperties.WriteBehind.disabled(), journalProperties(4 * PointHistoryJournal.RECORD_SIZE), PointHistoryProperties.Columnar.disabled()),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    @DisplayName("재기동하면 세그먼트 파일에 저장된 내역과 사용자, 잔액이 복구된다.")
+    void 재기동_시_내역과_잔액_복구() {
+        // given
+        long userId = 1L;
+        long otherUserId = 2L;
+        PointHistoryRepository before = journalRepository(new UserRegistry());
+        List<PointHistory> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(before.insert(userId, 100L, TransactionType.CHARGE, 1_000L + i));
+        }
+        saved.add(before.insert(userId, 30L, TransactionType.USE, 2_000L));
+        before.insert(otherUserId, 700L, TransactionType.CHARGE, 3_000L);
+        before.close();
+
+        // when
+        UserRegistry userRegistry = new UserRegistry();
+        PointHistoryRepository after = journalRepository(userRegistry);
+        UserPointRepository userPointRepository = new UserPointRepository(new UserPointTable(), new BalanceCacheProperties(true, 100), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+        BalanceSnapshotter balanceSnapshotter = new BalanceSnapshotter(after, new BalanceSnapshotProperties(false, directory.resolve("snapshot").toString(), 60_000, 2));
+        new PointBalanceRecovery(after, userPointRepository, balanceSnapshotter).recover();
+
+        // then
+        assertThat(after.findAllByUserId(userId)).containsExactlyElementsOf(saved);
+        assertThat(userRegistry.contains(userId)).isTrue();
+        assertThat(userRegistry.contains(otherUserId)).isTrue();
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(470L);
+        assertThat(userPointRepository.findById(otherUserId).point()).isEqualTo(700L);
+        assertThat(after.insert(userId, 1L, TransactionType.CHARGE, 4_000L).id()).isEqualTo(8L);
+        after.close();
+    }
+
+    @Test
+    @DisplayName("batch 로 한 번에 저장한 여러 사용자의 내역이 사용자별 순서대로 조회되고, 재기동 후에도 같은 순서로 복구된다.")
+    void batch_저장_내역_순서대로_복구() {
+        // given
+        long userId = 1L;
+        long otherUserId = 2L;
+        PointHistoryRepository before = journalRepository(new UserRegistry());
+        before.insert(userId, 100L, TransactionType.CHARGE, 1_000L);
+        PointHistoryBatch batch = new PointHistoryBatch(4);
+        batch.add(otherUserId, 700L, TransactionType.CHARGE, 2_000L);
+        batch.add(userId, 200L, TransactionType.CHARGE, 3_000L);
+        batch.add(otherUserId, 50L, TransactionType.USE, 4_000L);
+        batch.add(userId, 30L, TransactionType.USE, 5_000L);
+
+        // when
+        before.insertAll(batch);
+        List<PointHistory> saved = before.findAllByUserId(userId);
+        before.close();
+        PointHistoryRepository after = journalRepository(new UserRegistry());
+
+        // then
+        assertThat(batch.insertedCount()).isEqualTo(4);
+        assertThat(saved).extracting(PointHistory::amount).containsExactly(100L, 200L, 30L);
+        assertThat(after.findAllByUserId(userId)).containsExactlyElementsOf(saved);
+        assertThat(after.findAllByUserId(otherUserId)).extracting(PointHistory::amount).containsExactly(700L, 50L);
+        assertThat(after.insert(userId, 1L, TransactionType.CHARGE, 6_000L).id()).isEqualTo(6L);
+        after.close();
+    }
+
+    @Test
+    @DisplayName("동시에 기록해도 각 기록은 fsync 가 끝난 뒤에 반환된다.")
+    void 동시_기록은_fsync_후_반환() throws InterruptedException {
+        // given
+        PointHistoryJournal journal = new PointHistoryJournal(journalProperties(1024), new SimpleMeterRegistry().timer("sync"));
+        int threadCount = 8;
+        int appendCount = 50;
+        AtomicInteger unsynced = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < appendCount; j++) {
+                        PointHistory pointHistory = journal.append(userId, 100L, TransactionType.CHARGE, 1_000L, 0L);
+                        if (journal.syncedId() < pointHistory.id()) {
+                            unsynced.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(unsynced.get()).isZero();
+        assertThat(journal.lastId()).isEqualTo((long) threadCount * appendCount);
+        assertThat(journal.unsyncedCount()).isZero();
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("ack-before-sync 이면 fsync 를 기다리지 않고 반환하고, sync-interval 뒤에 fsync 된다.")
+    void ack_before_sync_이면_fsync_전_반환() {
+        // given
+        PointHistoryJournal journal = new PointHistoryJournal(ackBeforeSyncProperties(60_000L), new SimpleMeterRegistry().timer("sync"));
+
+        // when
+        PointHistory pointHistory = journal.append(1L, 100L, TransactionType.CHARGE, 1_000L, 0L);
+
+        // then
+        assertThat(journal.syncedId()).isLessThan(pointHistory.id());
+        journal.close();
+        assertThat(journal.syncedId()).isEqualTo(pointHistory.id());
+    }
+
+    @Test
+    @DisplayName("crc 가 맞지 않는 레코드부터는 기록되지 않은 것으로 보고 그 id 부터 다시 발급한다.")
+    void 손상된_레코드부터_버림() throws Exception {
+        // given
+        PointHistoryJournal journal = new PointHistoryJournal(journalProperties(1024), new SimpleMeterRegistry().timer("sync"));
+        journal.append(1L, 100L, TransactionType.CHARGE, 1_000L, 0L);
+        journal.append(1L, 200L, TransactionType.CHARGE, 2_000L, 1L);
+        journal.append(1L, 300L, TransactionType.CHARGE, 3_000L, 2L);
+        journal.close();
+
+        try (RandomAccessFile segment = new RandomAccessFile(directory.resolve("segment-0000000000.journal").toFile(), "rw")) {
+            segment.seek(2L * PointHistoryJournal.RECORD_SIZE + 16);
+            segment.writeLong(999L);
+        }
+
+        // when
+        PointHistoryJournal reopened = new PointHistoryJournal(journalProperties(1024), new SimpleMeterRegistry().timer("sync"));
+        PointHistory appended = reopened.append(1L, 50L, TransactionType.USE, 4_000L, 2L);
+
+        // then
+        assertThat(reopened.read(2L).amount()).isEqualTo(200L);
+        assertThat(appended.id()).isEqualTo(3L);
+        assertThat(reopened.read(3L)).isEqualTo(appended);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("fsync 후 기록한 checkpoint 이전 레코드는 재기동 시 다시 검사하지 않고, 이후 레코드만 검사한다.")
+    void checkpoint_이후만_검사() throws Exception {
+        // given
+        PointHistoryJournal journal = new PointHistoryJournal(journalProperties(1024), new SimpleMeterRegistry().timer("sync"));
+        journal.append(1L, 100L, TransactionType.CHARGE, 1_000L, 0L);
+        journal.append(2L, 200L, TransactionType.CHARGE, 2_000L, 0L);
+        journal.append(1L, 300L, TransactionType.USE, 3_000L, 1L);
+        journal.close();
+
+        // checkpoint(3) 이전 레코드의 crc 를 깨뜨려도 검사하지 않으므로 그대로 남습니다.
+        try (RandomAccessFile segment = new RandomAccessFile(directory.resolve("segment-0000000000.journal").toFile(), "rw")) {
+            segment.seek(PointHistoryJournal.RECORD_SIZE - 4);
+            segment.writeInt(0);
+        }
+
+        // when
+        PointHistoryJournal reopened = new PointHistoryJournal(journalProperties(1024), new SimpleMeterRegistry().timer("sync"));
+
+        // then
+        assertThat(reopened.lastId()).isEqualTo(3L);
+        assertThat(reopened.previousIdOf(3L)).isEqualTo(1L);
+        assertThat(reopened.previousIdOf(2L)).isZero();
+        reopened.close();
+    }
+}
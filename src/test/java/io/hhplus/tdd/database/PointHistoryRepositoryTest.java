@@ -0,0 +1,227 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.HistoryBacklogFullException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointDailyStatistics;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointStatistics;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PointHistoryRepositoryTest {
+
+    private final UserRegistry userRegistry = new UserRegistry();
+
+    private final PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(
+            new PointHistoryTable(),
+            userRegistry,
+            new PointHistoryProperties(PointHistoryProperties.WriteBehind.disabled(), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+            new SimpleMeterRegistry()
+    );
+
+    @Test
+    @DisplayName("사용자별 인덱스에서 해당 사용자의 내역만 저장 순서대로 조회된다.")
+    void 사용자별_내역만_순서대로_조회() {
+        // given
+        long userId = 1L;
+        long otherUserId = 2L;
+        pointHistoryRepository.insert(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(otherUserId, 300L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(userId, 50L, TransactionType.USE, System.currentTimeMillis());
+
+        // when
+        List<PointHistory> histories = pointHistoryRepository.findAllByUserId(userId);
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(100L, 50L);
+        assertThat(histories).extracting(PointHistory::userId).containsOnly(userId);
+    }
+
+    @Test
+    @DisplayName("cursor 이후의 내역을 종류와 기간 조건으로 limit 만큼 조회한다.")
+    void cursor_조건_조회() {
+        // given
+        long userId = 1L;
+        PointHistory first = pointHistoryRepository.insert(userId, 100L, TransactionType.CHARGE, 1_000L);
+        pointHistoryRepository.insert(userId, 10L, TransactionType.USE, 2_000L);
+        pointHistoryRepository.insert(userId, 200L, TransactionType.CHARGE, 3_000L);
+        pointHistoryRepository.insert(userId, 300L, TransactionType.CHARGE, 4_000L);
+        pointHistoryRepository.insert(userId, 400L, TransactionType.CHARGE, 9_000L);
+
+        // when
+        List<PointHistory> histories = pointHistoryRepository.findByUserId(
+                userId,
+                new PointHistoryQuery(first.id(), 5, TransactionType.CHARGE, 0L, 5_000L)
+        );
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(200L, 300L);
+    }
+
+    @Test
+    @DisplayName("저장 시점에 누적된 통계로 전체 합계와 일 단위 합계를 조회한다.")
+    void 누적_통계_조회() {
+        // given
+        long userId = 1L;
+        long day = 24L * 60 * 60 * 1000;
+        pointHistoryRepository.insert(userId, 100L, TransactionType.CHARGE, day + 10L);
+        pointHistoryRepository.insert(userId, 30L, TransactionType.USE, 3 * day + 10L);
+        pointHistoryRepository.insert(userId, 50L, TransactionType.CHARGE, day + 20L);
+        pointHistoryRepository.insert(2L, 999L, TransactionType.CHARGE, day);
+
+        // when
+        PointStatistics statistics = pointHistoryRepository.findStatisticsByUserId(userId, null, null);
+        PointStatistics lastDay = pointHistoryRepository.findStatisticsByUserId(userId, LocalDate.ofEpochDay(2), null);
+
+        // then
+        assertThat(statistics.count()).isEqualTo(3L);
+        assertThat(statistics.chargedAmount()).isEqualTo(150L);
+        assertThat(statistics.usedAmount()).isEqualTo(30L);
+        assertThat(statistics.firstUpdateMillis()).isEqualTo(day + 10L);
+        assertThat(statistics.lastUpdateMillis()).isEqualTo(3 * day + 10L);
+        assertThat(statistics.days()).containsExactly(
+                new PointDailyStatistics(LocalDate.ofEpochDay(1), 2L, 150L, 0L),
+                new PointDailyStatistics(LocalDate.ofEpochDay(3), 1L, 0L, 30L)
+        );
+        assertThat(lastDay.days()).extracting(PointDailyStatistics::date).containsExactly(LocalDate.ofEpochDay(3));
+        assertThat(pointHistoryRepository.findStatisticsByUserId(99L, null, null)).isEqualTo(PointStatistics.empty(99L));
+    }
+
+    @Test
+    @DisplayName("내역이 저장된 사용자만 UserRegistry 에 등록된다.")
+    void 내역_저장시_사용자_등록() {
+        // given
+        long userId = 1L;
+        pointHistoryRepository.insert(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when & then
+        assertThat(userRegistry.contains(userId)).isTrue();
+        assertThat(userRegistry.contains(99L)).isFalse();
+        assertThat(pointHistoryRepository.findAllByUserId(99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("write-behind 모드에서 테이블에 저장되기 전의 내역도 바로 조회된다.")
+    void write_behind_모드에서_flush_전_내역_조회() {
+        // given
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryRepository writeBehindRepository = new PointHistoryRepository(
+                pointHistoryTable,
+                new UserRegistry(),
+                new PointHistoryProperties(new PointHistoryProperties.WriteBehind(true, 100, 10, 100), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+                new SimpleMeterRegistry()
+        );
+        long userId = 1L;
+
+        // when
+        PointHistory first = writeBehindRepository.insert(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        PointHistory second = writeBehindRepository.insert(userId, 30L, TransactionType.USE, System.currentTimeMillis());
+
+        // then
+        assertThat(writeBehindRepository.findAllByUserId(userId)).containsExactly(first, second);
+
+        writeBehindRepository.close();
+        assertThat(writeBehindRepository.pendingWriteCount()).isZero();
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("write-behind 모드에서 여러 사용자가 동시에 저장해도 모든 내역이 주입된 테이블에 응답한 id 그대로 저장된다.")
+    void write_behind_모드에서_테이블_id_일치() throws InterruptedException {
+        // given
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryRepository writeBehindRepository = new PointHistoryRepository(
+                pointHistoryTable,
+                new UserRegistry(),
+                new PointHistoryProperties(new PointHistoryProperties.WriteBehind(true, 10000, 256, 100), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+                new SimpleMeterRegistry()
+        );
+        int userCount = 8;
+        int insertCount = 3;
+        List<List<PointHistory>> inserted = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            inserted.add(new ArrayList<>());
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(userCount);
+        CountDownLatch latch = new CountDownLatch(userCount);
+
+        // when
+        // 같은 사용자의 저장은 호출자가 직렬화하므로 사용자마다 스레드 하나가 저장합니다.
+        for (int i = 0; i < userCount; i++) {
+            long userId = i + 1;
+            List<PointHistory> histories = inserted.get(i);
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < insertCount; j++) {
+                        histories.add(writeBehindRepository.insert(userId, 100L + j, TransactionType.CHARGE, System.currentTimeMillis()));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+        writeBehindRepository.close();
+
+        // then
+        List<Long> tableIds = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            List<PointHistory> tableHistories = pointHistoryTable.selectAllByUserId(i + 1);
+            assertThat(tableHistories).containsExactlyElementsOf(inserted.get(i));
+            tableHistories.forEach(pointHistory -> tableIds.add(pointHistory.id()));
+        }
+        assertThat(tableIds).containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, (long) userCount * insertCount).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("write-behind 큐가 가득 차면 offer-timeout 뒤에 HistoryBacklogFullException 으로 거절한다.")
+    void write_behind_큐가_가득_차면_거절() throws InterruptedException {
+        // given
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        PointHistoryTable blockingTable = new PointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                writerBlocked.countDown();
+                try {
+                    releaseWriter.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        PointHistoryRepository writeBehindRepository = new PointHistoryRepository(
+                blockingTable,
+                new UserRegistry(),
+                new PointHistoryProperties(new PointHistoryProperties.WriteBehind(true, 1, 1, 10), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+                new SimpleMeterRegistry()
+        );
+        long userId = 1L;
+        writeBehindRepository.insert(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        writerBlocked.await();
+        writeBehindRepository.insert(userId, 200L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when & then
+        assertThatThrownBy(() -> writeBehindRepository.insert(userId, 300L, TransactionType.CHARGE, System.currentTimeMillis()))
+                .isSameAs(HistoryBacklogFullException.INSTANCE);
+        assertThat(writeBehindRepository.findAllByUserId(userId)).extracting(PointHistory::amount).containsExactly(100L, 200L);
+
+        releaseWriter.countDown();
+        writeBehindRepository.close();
+    }
+}
@@ -0,0 +1,78 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PrimitiveUserPointStoreTest {
+
+    @Test
+    @DisplayName("저장한 잔액이 조회되고, 저장된 적 없는 사용자는 0 포인트로 조회된다.")
+    void 저장_후_조회() {
+        // given
+        PrimitiveUserPointStore store = new PrimitiveUserPointStore(4, 16);
+
+        // when
+        UserPoint saved = store.save(1L, 500L);
+        store.save(1L, 700L);
+
+        // then
+        assertThat(saved).isEqualTo(new UserPoint(1L, 500L, saved.updateMillis()));
+        assertThat(store.findPointById(1L)).isEqualTo(700L);
+        assertThat(store.findById(1L).point()).isEqualTo(700L);
+        assertThat(store.findById(2L).point()).isZero();
+        assertThat(store.size()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 저장해 세그먼트가 확장되어도 모든 잔액이 누락 없이 조회된다.")
+    void 동시_저장과_확장() throws InterruptedException {
+        // given
+        PrimitiveUserPointStore store = new PrimitiveUserPointStore(4, 16);
+        int threadCount = 8;
+        int perThread = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            long offset = t;
+            executorService.submit(() -> {
+                try {
+                    for (long i = 1; i <= perThread; i++) {
+                        long id = i * threadCount + offset;
+                        store.save(id, id * 10);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(store.size()).isEqualTo((long) threadCount * perThread);
+        for (long id = threadCount; id < (perThread + 1L) * threadCount; id++) {
+            assertThat(store.findPointById(id)).isEqualTo(id * 10);
+        }
+    }
+
+    @Test
+    @DisplayName("빈 슬롯 표시값인 0 은 저장할 수 없다.")
+    void 영은_저장_불가() {
+        // given
+        PrimitiveUserPointStore store = new PrimitiveUserPointStore(4, 16);
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> store.save(0L, 100L));
+        assertThat(store.findPointById(0L)).isZero();
+    }
+}
@@ -0,0 +1,96 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserPointRepositoryTest {
+
+    @Test
+    @DisplayName("저장한 잔액은 캐시에서 바로 조회된다.")
+    void 저장_후_캐시에서_조회() {
+        // given
+        UserPointRepository userPointRepository = new UserPointRepository(new UserPointTable(), new BalanceCacheProperties(true, 100), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+        long userId = 1L;
+        userPointRepository.save(userId, 100L);
+
+        // when
+        UserPoint userPoint = userPointRepository.findById(userId);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(100L);
+        assertThat(userPointRepository.cacheStats().hitCount()).isEqualTo(1L);
+        assertThat(userPointRepository.cacheStats().missCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("캐시 미스 시 테이블에서 읽어 적재하고, 이후 조회는 캐시에서 처리한다.")
+    void 캐시_미스시_테이블_조회후_적재() {
+        // given
+        UserPointTable userPointTable = new UserPointTable();
+        userPointTable.insertOrUpdate(1L, 500L);
+        UserPointRepository userPointRepository = new UserPointRepository(userPointTable, new BalanceCacheProperties(true, 100), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+
+        // when
+        userPointRepository.findById(1L);
+        UserPoint userPoint = userPointRepository.findById(1L);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(500L);
+        assertThat(userPointRepository.cacheStats().missCount()).isEqualTo(1L);
+        assertThat(userPointRepository.cacheStats().hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 초과하면 오래 사용하지 않은 잔액부터 제거된다.")
+    void 최대_크기_초과시_제거() {
+        // given
+        UserPointRepository userPointRepository = new UserPointRepository(new UserPointTable(), new BalanceCacheProperties(true, 16), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+
+        // when
+        for (long userId = 1; userId <= 100; userId++) {
+            userPointRepository.save(userId, userId);
+        }
+
+        // then
+        BalanceCacheStats stats = userPointRepository.cacheStats();
+        assertThat(stats.size()).isLessThanOrEqualTo(16L);
+        assertThat(stats.evictionCount()).isEqualTo(100L - stats.size());
+    }
+
+    @Test
+    @DisplayName("복구한 잔액은 테이블 저장(insertOrUpdate) 없이 적재되고, 이후 저장하면 저장한 잔액으로 조회된다.")
+    void 복구한_잔액_적재() {
+        // given
+        AtomicInteger insertCount = new AtomicInteger();
+        UserPointTable userPointTable = new UserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                insertCount.incrementAndGet();
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        UserPointRepository userPointRepository = new UserPointRepository(userPointTable, new BalanceCacheProperties(true, 100), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+        Map<Long, Long> balances = new HashMap<>();
+        for (long userId = 1; userId <= 1_000; userId++) {
+            balances.put(userId, userId * 10);
+        }
+
+        // when
+        userPointRepository.restoreAll(balances);
+
+        // then
+        assertThat(insertCount.get()).isZero();
+        assertThat(userPointRepository.findPointById(500L)).isEqualTo(5_000L);
+        userPointRepository.save(500L, 1L);
+        assertThat(insertCount.get()).isEqualTo(1);
+        assertThat(userPointRepository.findPointById(500L)).isEqualTo(1L);
+    }
+}
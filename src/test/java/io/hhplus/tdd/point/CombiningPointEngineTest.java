@@ -0,0 +1,128 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockExecutor;
+import io.hhplus.tdd.concurrent.MapLockStrategy;
+import io.hhplus.tdd.database.BalanceCacheProperties;
+import io.hhplus.tdd.database.BalanceStoreProperties;
+import io.hhplus.tdd.database.PointHistoryProperties;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CombiningPointEngineTest {
+
+    private final long MAXIMUM_POINT = PointPolicy.MAXIMUM_POINT.getAmount();
+
+    private PointHistoryRepository pointHistoryRepository;
+    private UserPointRepository userPointRepository;
+    private CombiningPointEngine combiningPointEngine;
+
+    @BeforeEach
+    void setUp() {
+        UserRegistry userRegistry = new UserRegistry();
+        pointHistoryRepository = new PointHistoryRepository(
+                new PointHistoryTable(),
+                userRegistry,
+                new PointHistoryProperties(PointHistoryProperties.WriteBehind.disabled(), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+                new SimpleMeterRegistry()
+        );
+        userPointRepository = new UserPointRepository(new UserPointTable(), new BalanceCacheProperties(true, 100), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+        combiningPointEngine = new CombiningPointEngine(
+                pointHistoryRepository,
+                userPointRepository,
+                new LockExecutor(new MapLockStrategy()),
+                new PointValidator(),
+                userRegistry
+        );
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 충전 요청을 모아 처리해도 모든 충전이 반영된다.")
+    void 동시_충전_요청_모두_반영() throws InterruptedException {
+        // given
+        long userId = 1L;
+        long amount = 100L;
+        pointHistoryRepository.insert(userId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        int threadCount = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    combiningPointEngine.charge(userId, amount);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(amount * threadCount);
+        assertThat(pointHistoryRepository.findAllByUserId(userId)).hasSize(threadCount + 1);
+    }
+
+    @Test
+    @DisplayName("함께 처리된 요청 중 최대값을 초과하는 요청만 실패한다.")
+    void 최대값_초과_요청만_실패() throws InterruptedException {
+        // given
+        long userId = 1L;
+        int threadCount = 10;
+        int expectFailCount = 5;
+        long amount = MAXIMUM_POINT / (threadCount - expectFailCount);
+        pointHistoryRepository.insert(userId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failCount = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    combiningPointEngine.charge(userId, amount);
+                    successCount.getAndIncrement();
+                } catch (RuntimeException e) {
+                    failCount.getAndIncrement();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        assertThat(successCount.get()).isEqualTo(threadCount - expectFailCount);
+        assertThat(failCount.get()).isEqualTo(expectFailCount);
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(MAXIMUM_POINT);
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 사용자의 요청은 예외가 발생한다.")
+    void 등록되지_않은_사용자_예외() {
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> combiningPointEngine.use(99L, 100L)
+        );
+
+        assertThat(exception.getMessage()).isEqualTo("사용자 포인트 정보가 존재하지 않습니다.");
+    }
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotAccountDetectorTest {
+
+    @Test
+    @DisplayName("요청이 threshold 이상 몰린 계정만 hot 으로 분류되고, top-k 개까지 요청이 많은 순서로 유지된다.")
+    void 요청이_몰린_계정만_hot_분류() {
+        // given
+        HotAccountDetector hotAccountDetector = new HotAccountDetector(new HotAccountProperties(true, 100, 60_000, 2, 1_024));
+
+        // when
+        for (int i = 0; i < 300; i++) {
+            hotAccountDetector.record(1L);
+        }
+        for (int i = 0; i < 200; i++) {
+            hotAccountDetector.record(2L);
+        }
+        for (int i = 0; i < 150; i++) {
+            hotAccountDetector.record(3L);
+        }
+        for (long userId = 10; userId < 1_000; userId++) {
+            hotAccountDetector.record(userId);
+        }
+
+        // then
+        assertThat(hotAccountDetector.isHot(1L)).isTrue();
+        assertThat(hotAccountDetector.isHot(2L)).isTrue();
+        assertThat(hotAccountDetector.isHot(3L)).isFalse();
+        assertThat(hotAccountDetector.isHot(10L)).isFalse();
+        assertThat(hotAccountDetector.hotAccounts()).extracting(HotAccount::userId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("요청이 줄어든 계정은 window 가 지나면 hot 에서 제외된다.")
+    void 요청이_줄면_hot_제외() throws InterruptedException {
+        // given
+        HotAccountDetector hotAccountDetector = new HotAccountDetector(new HotAccountProperties(true, 100, 10, 32, 1_024));
+        for (int i = 0; i < 100; i++) {
+            hotAccountDetector.record(1L);
+        }
+        assertThat(hotAccountDetector.isHot(1L)).isTrue();
+
+        // when
+        for (int window = 0; window < 3; window++) {
+            Thread.sleep(20);
+            hotAccountDetector.record(2L);
+        }
+
+        // then
+        assertThat(hotAccountDetector.isHot(1L)).isFalse();
+        assertThat(hotAccountDetector.hotAccounts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("비활성화하면 요청을 기록하지 않는다.")
+    void 비활성화시_기록하지_않음() {
+        // given
+        HotAccountDetector hotAccountDetector = new HotAccountDetector(HotAccountProperties.disabled());
+
+        // when
+        for (int i = 0; i < 2_000; i++) {
+            hotAccountDetector.record(1L);
+        }
+
+        // then
+        assertThat(hotAccountDetector.isHot(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("비활성화되어 있어도 분류를 쓰는 엔진이 activate 하면 이후 요청부터 기록한다.")
+    void activate_이후_기록() {
+        // given
+        HotAccountDetector hotAccountDetector = new HotAccountDetector(HotAccountProperties.disabled());
+        for (int i = 0; i < 2_000; i++) {
+            hotAccountDetector.record(1L);
+        }
+
+        // when
+        hotAccountDetector.activate();
+        for (int i = 0; i < 1_000; i++) {
+            hotAccountDetector.record(2L);
+        }
+
+        // then
+        assertThat(hotAccountDetector.isHot(1L)).isFalse();
+        assertThat(hotAccountDetector.isHot(2L)).isTrue();
+    }
+}
@@ -0,0 +1,161 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockExecutor;
+import io.hhplus.tdd.concurrent.MapLockStrategy;
+import io.hhplus.tdd.database.BalanceCacheProperties;
+import io.hhplus.tdd.database.BalanceStoreProperties;
+import io.hhplus.tdd.database.PointHistoryProperties;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OptimisticPointEngineTest {
+
+    private UserRegistry userRegistry;
+    private PointHistoryRepository pointHistoryRepository;
+    private UserPointRepository userPointRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRegistry = new UserRegistry();
+        pointHistoryRepository = new PointHistoryRepository(
+                new PointHistoryTable(),
+                userRegistry,
+                new PointHistoryProperties(PointHistoryProperties.WriteBehind.disabled(), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+                new SimpleMeterRegistry()
+        );
+        userPointRepository = new UserPointRepository(new UserPointTable(), new BalanceCacheProperties(true, 100), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+    }
+
+    private OptimisticPointEngine optimisticPointEngine(int maxAttempts) {
+        return new OptimisticPointEngine(
+                pointHistoryRepository,
+                userPointRepository,
+                new LockExecutor(new MapLockStrategy()),
+                new PointValidator(),
+                userRegistry,
+                new OptimisticProperties(maxAttempts, 1, 256, 1_000),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 충전/사용 요청이 버전 충돌로 재시도되거나 Lock 으로 넘어가도 모두 한 번씩 반영된다.")
+    void 동시_충전_사용_요청_모두_반영() throws InterruptedException {
+        // given
+        long userId = 1L;
+        long amount = 100L;
+        pointHistoryRepository.insert(userId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        // 재시도 1 회만 허용해 Lock 으로 넘어가는 경로도 함께 실행되도록 합니다.
+        OptimisticPointEngine optimisticPointEngine = optimisticPointEngine(1);
+
+        int threadCount = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount * 2);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    optimisticPointEngine.charge(userId, amount * 2);
+                } finally {
+                    latch.countDown();
+                }
+            });
+            executorService.submit(() -> {
+                try {
+                    optimisticPointEngine.charge(userId, amount);
+                    optimisticPointEngine.use(userId, amount);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(amount * 2 * threadCount);
+        assertThat(pointHistoryRepository.findAllByUserId(userId)).hasSize(threadCount * 3 + 1);
+    }
+
+    @Test
+    @DisplayName("보유 포인트를 초과하는 사용 요청은 반영되지 않고 예외가 발생한다.")
+    void 보유_포인트_초과_사용_예외() {
+        // given
+        long userId = 1L;
+        pointHistoryRepository.insert(userId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        OptimisticPointEngine optimisticPointEngine = optimisticPointEngine(4);
+        optimisticPointEngine.charge(userId, 100L);
+
+        // when
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> optimisticPointEngine.use(userId, 101L)
+        );
+
+        // then
+        assertThat(exception.getMessage()).isEqualTo("보유 포인트를 초과하여 사용할 수 없습니다.");
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(100L);
+        assertThat(pointHistoryRepository.findAllByUserId(userId)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("내역 저장에 실패한 요청은 실패로 응답하고, 잔액은 마지막으로 저장한 잔액으로 되돌린다.")
+    void 내역_저장_실패시_잔액_되돌림() {
+        // given
+        long userId = 1L;
+        AtomicBoolean failNextInsert = new AtomicBoolean();
+        pointHistoryRepository = new PointHistoryRepository(
+                new PointHistoryTable(),
+                userRegistry,
+                new PointHistoryProperties(PointHistoryProperties.WriteBehind.disabled(), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+                new SimpleMeterRegistry()
+        ) {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (failNextInsert.getAndSet(false)) {
+                    throw HistoryBacklogFullException.INSTANCE;
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        pointHistoryRepository.insert(userId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        OptimisticPointEngine optimisticPointEngine = optimisticPointEngine(4);
+        optimisticPointEngine.charge(userId, 100L);
+
+        // when
+        failNextInsert.set(true);
+        assertThrows(HistoryBacklogFullException.class, () -> optimisticPointEngine.charge(userId, 50L));
+        UserPoint userPoint = optimisticPointEngine.use(userId, 30L);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(70L);
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(70L);
+        assertThat(pointHistoryRepository.findAllByUserId(userId)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 사용자의 요청은 예외가 발생한다.")
+    void 등록되지_않은_사용자_예외() {
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> optimisticPointEngine(4).use(99L, 100L)
+        );
+
+        assertThat(exception.getMessage()).isEqualTo("사용자 포인트 정보가 존재하지 않습니다.");
+    }
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 비동기 API 의 실행 스레드 풀 동작
+ * - 엔진은 mock 으로 바꿔 요청이 실행 스레드 안에서 얼마나 동시에 머무는지, 사용자 대기열이 몇 건까지 쌓이는지만 확인합니다.
+ */
+@SpringBootTest(properties = "point.lock.max-queue-depth=2")
+@AutoConfigureMockMvc
+@DirtiesContext(
+        classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD
+)
+public class PointControllerConcurrencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PointEngine pointEngine;
+
+    @Test
+    @DisplayName("[PATCH: /point/{id}/charge] 기본 applicationTaskExecutor 코어 수(8)보다 많은 사용자의 요청이 동시에 실행된다.")
+    void 여러_사용자_충전_요청이_동시에_실행() throws Exception {
+        // given
+        int userCount = 32;
+        CountDownLatch allRunning = new CountDownLatch(userCount);
+        // 모든 요청이 동시에 실행 중이어야만 latch 가 풀립니다. (실행 스레드가 모자라면 시간 초과로 실패)
+        given(pointEngine.charge(anyLong(), anyLong())).willAnswer(invocation -> {
+            allRunning.countDown();
+            if (!allRunning.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("동시에 실행되지 않았습니다.");
+            }
+            return new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis());
+        });
+
+        // when
+        List<MvcResult> results = new ArrayList<>();
+        for (long userId = 1; userId <= userCount; userId++) {
+            results.add(mockMvc.perform(
+                            MockMvcRequestBuilders
+                                    .patch("/point/" + userId + "/charge")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("100")
+                    )
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+        }
+
+        // then
+        for (int i = 0; i < userCount; i++) {
+            mockMvc.perform(asyncDispatch(results.get(i)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(i + 1))
+                    .andExpect(jsonPath("$.point").value(100));
+        }
+    }
+
+    @Test
+    @DisplayName("[PATCH: /point/{id}/charge] 한 사용자의 대기열이 max-queue-depth 를 넘으면 기다리지 않고 429 응답을 반환한다.")
+    void 사용자_대기열이_가득_차면_429_응답() throws Exception {
+        // given
+        long userId = 1L;
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(pointEngine.charge(anyLong(), anyLong())).willAnswer(invocation -> {
+            running.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new UserPoint(userId, 100L, System.currentTimeMillis());
+        });
+        List<MvcResult> accepted = new ArrayList<>();
+        accepted.add(startCharge(userId));
+        running.await(10, TimeUnit.SECONDS);
+        // 실행 중인 요청 뒤로 max-queue-depth(2) 만큼 기다립니다.
+        accepted.add(startCharge(userId));
+        accepted.add(startCharge(userId));
+
+        // when
+        MvcResult rejected = startCharge(userId);
+
+        // then
+        mockMvc.perform(asyncDispatch(rejected))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value("429"))
+                .andExpect(jsonPath("$.message").value("요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+
+        release.countDown();
+        for (MvcResult result : accepted) {
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private MvcResult startCharge(long userId) throws Exception {
+        return mockMvc.perform(
+                        MockMvcRequestBuilders
+                                .patch("/point/" + userId + "/charge")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("100")
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
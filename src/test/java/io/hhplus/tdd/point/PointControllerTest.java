@@ -1,7 +1,7 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
 import io.hhplus.tdd.point.TransactionType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,11 +11,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -29,10 +35,18 @@ public class PointControllerTest {
     private MockMvc mockMvc;
 
     @Autowired
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
 
     @Autowired
-    private UserPointTable userPointTable;
+    private UserPointRepository userPointRepository;
+
+    // 비동기 핸들러는 응답이 준비된 뒤 다시 dispatch 해야 결과를 검증할 수 있습니다.
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
 
 
     @Test
@@ -61,7 +75,7 @@ public class PointControllerTest {
         long notSavedUserId = 1L;
 
         // when
-        ResultActions result = mockMvc.perform(
+        ResultActions result = performAsync(
                 MockMvcRequestBuilders
                         .get("/point/"+notSavedUserId)
         );
@@ -79,11 +93,11 @@ public class PointControllerTest {
         long validUserId = 1L;
         long amount = 100L;
         // 사용자의 포인트 정보가 존재하는 전제
-        userPointTable.insertOrUpdate(validUserId, amount);
-        pointHistoryTable.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+        userPointRepository.save(validUserId, amount);
+        pointHistoryRepository.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
 
         // when
-        ResultActions result = mockMvc.perform(
+        ResultActions result = performAsync(
                 MockMvcRequestBuilders
                         .get("/point/"+validUserId)
         );
@@ -101,11 +115,11 @@ public class PointControllerTest {
         // given
         long validUserId = 1L;
         long amount = 100L;
-        pointHistoryTable.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
-        pointHistoryTable.insert(validUserId, amount, TransactionType.USE, System.currentTimeMillis());
+        pointHistoryRepository.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(validUserId, amount, TransactionType.USE, System.currentTimeMillis());
 
         // when
-        ResultActions result = mockMvc.perform(
+        ResultActions result = performAsync(
                 MockMvcRequestBuilders
                         .get("/point/"+validUserId+"/histories")
         );
@@ -122,6 +136,150 @@ public class PointControllerTest {
         ;
     }
 
+    @Test
+    @DisplayName("[GET: /point/{id}/histories] afterId, limit, type 조건으로 내역을 나눠 조회한다.")
+    void 포인트_내역_cursor_조회시_성공_응답() throws Exception {
+        // given
+        long validUserId = 1L;
+        PointHistory first = pointHistoryRepository.insert(validUserId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(validUserId, 10L, TransactionType.USE, System.currentTimeMillis());
+        PointHistory second = pointHistoryRepository.insert(validUserId, 200L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(validUserId, 300L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when
+        ResultActions result = performAsync(
+                MockMvcRequestBuilders
+                        .get("/point/"+validUserId+"/histories")
+                        .param("afterId", String.valueOf(first.id()))
+                        .param("limit", "1")
+                        .param("type", "CHARGE")
+        );
+        // then
+        result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$.[0].amount").value(200L))
+                .andExpect(jsonPath("$.[0].type").value("CHARGE"))
+                .andExpect(header().string("Next-After-Id", String.valueOf(second.id())))
+        ;
+    }
+
+    @Test
+    @DisplayName("[GET: /point/{id}/histories] 마지막 페이지에는 Next-After-Id 헤더가 없다.")
+    void 포인트_내역_마지막_페이지_조회시_다음_cursor_없음() throws Exception {
+        // given
+        long validUserId = 1L;
+        PointHistory first = pointHistoryRepository.insert(validUserId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(validUserId, 200L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when
+        ResultActions result = performAsync(
+                MockMvcRequestBuilders
+                        .get("/point/"+validUserId+"/histories")
+                        .param("afterId", String.valueOf(first.id()))
+                        .param("limit", "1")
+        );
+        // then
+        result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$.[0].amount").value(200L))
+                .andExpect(header().doesNotExist("Next-After-Id"))
+        ;
+    }
+
+    @Test
+    @DisplayName("[GET: /point/{id}/histories] limit 이 1000 을 넘으면 예외 응답 반환한다.")
+    void 포인트_내역_limit_초과시_예외_응답() throws Exception {
+        // given
+        long validUserId = 1L;
+
+        // when
+        ResultActions result = mockMvc.perform(
+                MockMvcRequestBuilders
+                        .get("/point/"+validUserId+"/histories")
+                        .param("limit", "1001")
+        );
+        // then
+        result
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.message").value("[limit 은 1000 이하여야 합니다.]"));
+    }
+
+    @Test
+    @DisplayName("[GET: /point/{id}/histories] NDJSON 요청은 limit 이 1000 을 넘어도 성공 응답 반환한다.")
+    void 포인트_내역_NDJSON_limit_제한_없음() throws Exception {
+        // given
+        long validUserId = 1L;
+        pointHistoryRepository.insert(validUserId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when
+        ResultActions result = performAsync(
+                MockMvcRequestBuilders
+                        .get("/point/"+validUserId+"/histories")
+                        .param("limit", "1001")
+                        .accept(MediaType.APPLICATION_NDJSON)
+        );
+        // then
+        String body = result
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(body.lines()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("[GET: /point/{id}/histories] NDJSON 요청시 내역을 한 줄에 한 건씩 응답한다.")
+    void 포인트_내역_NDJSON_스트리밍_응답() throws Exception {
+        // given
+        long validUserId = 1L;
+        pointHistoryRepository.insert(validUserId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(validUserId, 10L, TransactionType.USE, System.currentTimeMillis());
+
+        // when
+        ResultActions result = performAsync(
+                MockMvcRequestBuilders
+                        .get("/point/"+validUserId+"/histories")
+                        .accept(MediaType.APPLICATION_NDJSON)
+        );
+        // then
+        String body = result
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(body.lines()).hasSize(2);
+        assertThat(body.lines().findFirst()).hasValueSatisfying(line -> assertThat(line).contains("\"amount\":100"));
+    }
+
+    @Test
+    @DisplayName("[GET: /point/{id}/statistics] 특정 유저의 포인트 내역 통계를 조회시 성공 응답 반환한다.")
+    void 포인트_내역_통계_조회시_성공_응답() throws Exception {
+        // given
+        long validUserId = 1L;
+        long day = 24L * 60 * 60 * 1000;
+        pointHistoryRepository.insert(validUserId, 100L, TransactionType.CHARGE, day);
+        pointHistoryRepository.insert(validUserId, 40L, TransactionType.USE, 2 * day);
+
+        // when
+        ResultActions result = performAsync(
+                MockMvcRequestBuilders
+                        .get("/point/"+validUserId+"/statistics")
+                        .param("from", "1970-01-03")
+        );
+        // then
+        result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.chargedAmount").value(100L))
+                .andExpect(jsonPath("$.usedAmount").value(40L))
+                .andExpect(jsonPath("$.days", hasSize(1)))
+                .andExpect(jsonPath("$.days[0].date").value("1970-01-03"))
+                .andExpect(jsonPath("$.days[0].usedAmount").value(40L));
+    }
+
     @Test
     @DisplayName("[PATCH /point/{id}/charge] : 음수 amount로 충전 요청시 에외 응답 반환한다.")
     void 음수인_amount로_충전_요청시_예외_응답() throws Exception {
@@ -152,11 +310,11 @@ public class PointControllerTest {
         long validUserId = 1L;
         long amount = 1_000_000L;
         long chargeAmount = 100L;
-        userPointTable.insertOrUpdate(validUserId, amount);
-        pointHistoryTable.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+        userPointRepository.save(validUserId, amount);
+        pointHistoryRepository.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
 
         // when
-        ResultActions result = mockMvc.perform(
+        ResultActions result = performAsync(
                 MockMvcRequestBuilders
                         .patch("/point/"+validUserId+"/charge")
                         .content(String.valueOf(chargeAmount))
@@ -176,11 +334,11 @@ public class PointControllerTest {
         long validUserId = 1L;
         long amount = 100L;
         long chargeAmount = 100;
-        userPointTable.insertOrUpdate(validUserId, amount);
-        pointHistoryTable.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+        userPointRepository.save(validUserId, amount);
+        pointHistoryRepository.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
 
         // when
-        ResultActions result = mockMvc.perform(
+        ResultActions result = performAsync(
                 MockMvcRequestBuilders
                         .patch("/point/"+validUserId+"/charge")
                         .content(String.valueOf(chargeAmount))
@@ -226,11 +384,11 @@ public class PointControllerTest {
         long validUserId = 1L;
         long amount = 100L;
         long useAmount = 200L;
-        userPointTable.insertOrUpdate(validUserId, amount);
-        pointHistoryTable.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+        userPointRepository.save(validUserId, amount);
+        pointHistoryRepository.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
 
         // when
-        ResultActions result = mockMvc.perform(
+        ResultActions result = performAsync(
                 MockMvcRequestBuilders
                         .patch("/point/"+validUserId+"/use")
                         .content(String.valueOf(useAmount))
@@ -243,6 +401,69 @@ public class PointControllerTest {
                 .andExpect(jsonPath("$.message").value("보유 포인트를 초과하여 사용할 수 없습니다."));
     }
 
+    @Test
+    @DisplayName("[PATCH /point/{id}/charge] : 같은 Idempotency-Key 로 재시도하면 한 번만 충전된다.")
+    void 같은_Idempotency_Key_재시도시_한_번만_충전() throws Exception {
+
+        // given
+        long validUserId = 1L;
+        long amount = 100L;
+        long chargeAmount = 50L;
+        userPointRepository.save(validUserId, amount);
+        pointHistoryRepository.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            performAsync(
+                    MockMvcRequestBuilders
+                            .patch("/point/"+validUserId+"/charge")
+                            .header("Idempotency-Key", "payroll-1")
+                            .content(String.valueOf(chargeAmount))
+                            .contentType(MediaType.APPLICATION_JSON)
+            )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.point").value(amount+chargeAmount));
+        }
+
+        // then
+        assertThat(userPointRepository.findById(validUserId).point()).isEqualTo(amount+chargeAmount);
+        assertThat(pointHistoryRepository.findAllByUserId(validUserId)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("[PATCH /point/{id}/charge] : 같은 Idempotency-Key 로 다른 금액을 보내면 실행하지 않고 422 를 반환한다.")
+    void 같은_Idempotency_Key_다른_요청시_422() throws Exception {
+
+        // given
+        long validUserId = 1L;
+        long amount = 100L;
+        userPointRepository.save(validUserId, amount);
+        pointHistoryRepository.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+        performAsync(
+                MockMvcRequestBuilders
+                        .patch("/point/"+validUserId+"/charge")
+                        .header("Idempotency-Key", "payroll-1")
+                        .content("50")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(status().isOk());
+
+        // when
+        ResultActions result = performAsync(
+                MockMvcRequestBuilders
+                        .patch("/point/"+validUserId+"/charge")
+                        .header("Idempotency-Key", "payroll-1")
+                        .content("70")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // then
+        result
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.code").value("422"))
+                .andExpect(jsonPath("$.message").value("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."));
+        assertThat(userPointRepository.findById(validUserId).point()).isEqualTo(amount+50L);
+    }
+
     @Test
     @DisplayName("[PATCH /point/{id}/use] : 특정 유저의 포인트 충전시 성공 응답 반환한다.")
     void 보유_포인트_사용시_성공_응답() throws Exception {
@@ -251,11 +472,11 @@ public class PointControllerTest {
         long validUserId = 1L;
         long amount = 200L;
         long useAmount = 100L;
-        userPointTable.insertOrUpdate(validUserId, amount);
-        pointHistoryTable.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+        userPointRepository.save(validUserId, amount);
+        pointHistoryRepository.insert(validUserId, amount, TransactionType.CHARGE, System.currentTimeMillis());
 
         // when
-        ResultActions result = mockMvc.perform(
+        ResultActions result = performAsync(
                 MockMvcRequestBuilders
                         .patch("/point/"+validUserId+"/use")
                         .content(String.valueOf(useAmount))
@@ -267,4 +488,68 @@ public class PointControllerTest {
                 .andExpect(jsonPath("$.id").value(validUserId))
                 .andExpect(jsonPath("$.point").value(amount-useAmount));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("[POST /point/batch] : 여러 사용자의 충전/사용을 한 번에 요청시 항목별 결과를 요청 순서대로 반환한다.")
+    void 일괄_충전_사용시_항목별_결과_응답() throws Exception {
+
+        // given
+        long firstUserId = 1L;
+        long secondUserId = 2L;
+        userPointRepository.save(firstUserId, 100L);
+        pointHistoryRepository.insert(firstUserId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        userPointRepository.save(secondUserId, 0L);
+        pointHistoryRepository.insert(secondUserId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        String operations = """
+                [
+                  {"userId": 1, "amount": 50, "type": "CHARGE"},
+                  {"userId": 2, "amount": 10, "type": "USE"},
+                  {"userId": 1, "amount": 120, "type": "USE"}
+                ]
+                """;
+
+        // when
+        ResultActions result = performAsync(
+                MockMvcRequestBuilders
+                        .post("/point/batch")
+                        .content(operations)
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+        // then
+        result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].userPoint.point").value(150L))
+                .andExpect(jsonPath("$[1].error.code").value("400"))
+                .andExpect(jsonPath("$[1].error.message").value("보유 포인트를 초과하여 사용할 수 없습니다."))
+                .andExpect(jsonPath("$[2].userPoint.point").value(30L));
+        assertThat(userPointRepository.findById(firstUserId).point()).isEqualTo(30L);
+        assertThat(userPointRepository.findById(secondUserId).point()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("[POST /point/batch] : 형식이 잘못된 항목이 있으면 일괄 요청 전체에 예외 응답 반환한다.")
+    void 일괄_요청에_잘못된_항목이_있으면_예외_응답() throws Exception {
+
+        // given
+        String operations = """
+                [
+                  {"userId": 1, "amount": 50, "type": "CHARGE"},
+                  {"userId": -1, "amount": 10, "type": "USE"}
+                ]
+                """;
+
+        // when
+        ResultActions result = mockMvc.perform(
+                MockMvcRequestBuilders
+                        .post("/point/batch")
+                        .content(operations)
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+        // then
+        result
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.message").value("[유효한 userId 가 아닙니다.]"));
+    }
+}
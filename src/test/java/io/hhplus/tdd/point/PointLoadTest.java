@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.database.UserRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 요청 1만 건을 가상 스레드와 플랫폼 스레드(point.async.pool-size 기본 200개)로 처리했을 때의 처리량 비교
+ * - ./gradlew loadTest 로 실행하고, 처리량은 TestReporter 로 보고합니다.
+ * - 운영 설정 그대로 애플리케이션 컨텍스트를 띄우고, 비동기 API(chargeUserPointAsync)를 호출합니다.
+ *   (spring.threads.virtual.enabled 만 바꾸고, 1만 건이 모두 대기할 수 있도록 point.async.queue-capacity 를 늘리고
+ *   point.lock.timeout-millis 를 끕니다. 플랫폼 스레드에서는 마지막 요청이 기한보다 오래 기다릴 수 있습니다.)
+ * - 잔액은 지연(throttle)이 있는 UserPointTable 에 저장하고, 내역은 임시 디렉터리의 저널에 저장합니다.
+ */
+@Tag("load")
+public class PointLoadTest {
+
+    private static final int IN_FLIGHT_REQUESTS = 10_000;
+    private static final long CHARGE_AMOUNT = 100L;
+
+    @TempDir
+    Path journalRoot;
+
+    @Test
+    @DisplayName("동시 요청 1만 건을 가상 스레드로 처리하면 플랫폼 스레드보다 처리량이 높다.")
+    void 가상_스레드_처리량_비교(TestReporter testReporter) {
+        // when
+        double virtualThroughput = measureThroughput(true);
+        double platformThroughput = measureThroughput(false);
+
+        // then
+        testReporter.publishEntry(Map.of(
+                "virtual.requestsPerSecond", String.format("%.1f", virtualThroughput),
+                "platform.requestsPerSecond", String.format("%.1f", platformThroughput)
+        ));
+        assertThat(virtualThroughput).isGreaterThan(platformThroughput);
+    }
+
+    private double measureThroughput(boolean virtualThreads) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "point.async.queue-capacity=" + IN_FLIGHT_REQUESTS,
+                        "point.lock.timeout-millis=0",
+                        "point.history.journal.enabled=true",
+                        "point.history.journal.directory=" + journalRoot.resolve(virtualThreads ? "virtual" : "platform")
+                )
+                .run()) {
+            UserRegistry userRegistry = context.getBean(UserRegistry.class);
+            PointService pointService = context.getBean(PointService.class);
+            for (long userId = 1; userId <= IN_FLIGHT_REQUESTS; userId++) {
+                userRegistry.register(userId);
+            }
+
+            CompletableFuture<?>[] responses = new CompletableFuture<?>[IN_FLIGHT_REQUESTS];
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < IN_FLIGHT_REQUESTS; i++) {
+                responses[i] = pointService.chargeUserPointAsync(i + 1, CHARGE_AMOUNT);
+            }
+            // 거절(503 / 429)되거나 실패한 요청이 있으면 여기서 예외로 실패합니다.
+            CompletableFuture.allOf(responses).join();
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            for (long userId = 1; userId <= IN_FLIGHT_REQUESTS; userId++) {
+                assertThat(pointService.findUserPointById(userId).point()).isEqualTo(CHARGE_AMOUNT);
+                assertThat(pointService.findHistories(userId)).hasSize(1);
+            }
+            return IN_FLIGHT_REQUESTS / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
 import io.hhplus.tdd.point.PointPolicy;
 import io.hhplus.tdd.point.PointService;
 import io.hhplus.tdd.point.TransactionType;
@@ -27,10 +27,10 @@ public class PointServiceIntegrationTest {
     private PointService pointService;
 
     @Autowired
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
 
     @Autowired
-    private UserPointTable userPointTable;
+    private UserPointRepository userPointRepository;
 
     private final long MAXIMUM_POINT = PointPolicy.MAXIMUM_POINT.getAmount();
 
@@ -42,7 +42,7 @@ public class PointServiceIntegrationTest {
     }
     @BeforeEach
     public void createPointHistory() {
-        pointHistoryTable.insert(++testUserId, tenPoint, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(++testUserId, tenPoint, TransactionType.CHARGE, System.currentTimeMillis());
     }
 
 
@@ -69,7 +69,7 @@ public class PointServiceIntegrationTest {
         long userId = testUserId;
         long amount = PointPolicy.MAXIMUM_POINT.getAmount() + tenPoint;
 
-        pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
 
         // when
         RuntimeException exception = assertThrows(
@@ -86,7 +86,7 @@ public class PointServiceIntegrationTest {
     void 포인트를_충전한_히스토리_조회_가능() {
         // given
         long userId = testUserId;
-        pointHistoryTable.insert(userId, tenPoint, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(userId, tenPoint, TransactionType.CHARGE, System.currentTimeMillis());
         pointService.chargeUserPoint(userId, tenPoint);
 
         // when
@@ -123,7 +123,7 @@ public class PointServiceIntegrationTest {
         // given
         long userId = getTestUserId();
         long amount = tenPoint;
-        pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryRepository.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
 
         int threadCount = 20;
         ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
@@ -229,7 +229,7 @@ public class PointServiceIntegrationTest {
         long existPoint = 1000L;
         long amount = existPoint / (threadCount - expectFailCount);
 
-        userPointTable.insertOrUpdate(userId, existPoint);
+        userPointRepository.save(userId, existPoint);
 
         ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
         CountDownLatch latch = new CountDownLatch(threadCount);
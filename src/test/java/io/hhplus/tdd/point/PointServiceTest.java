@@ -1,18 +1,20 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.concurrent.AsyncUserExecutor;
+import io.hhplus.tdd.concurrent.IdempotencyCache;
+import io.hhplus.tdd.concurrent.IdempotencyProperties;
 import io.hhplus.tdd.concurrent.LockExecutor;
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.concurrent.UserLockTask;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.List;
-import java.util.function.Supplier;
-
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
@@ -22,10 +24,10 @@ import static org.mockito.Mockito.*;
 public class PointServiceTest {
 
     @Mock
-    private UserPointTable userPointTable;
+    private UserPointRepository userPointRepository;
 
     @Mock
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
 
     @Mock
     private LockExecutor lockExecutor;
@@ -33,27 +35,37 @@ public class PointServiceTest {
     @Mock
     private PointValidator pointValidator;
 
-    @InjectMocks
+    @Mock
+    private UserRegistry userRegistry;
+
     private PointService pointService;
 
-    private PointHistory createPointHistory() {
-        return new PointHistory(1L, 1L, 0, TransactionType.CHARGE, System.currentTimeMillis());
+    @BeforeEach
+    void setUp() {
+        PointEngine pointEngine = new LockingPointEngine(
+                pointHistoryRepository, userPointRepository, lockExecutor, pointValidator, userRegistry
+        );
+        pointService = new PointService(
+                pointHistoryRepository, userPointRepository, pointValidator, userRegistry, pointEngine, new AsyncUserExecutor(Runnable::run),
+                new IdempotencyCache(new IdempotencyProperties(1_000, 60_000)), new HotAccountDetector(HotAccountProperties.disabled())
+        );
     }
+
     private void ignoringUserLock(long userId) {
-        given(lockExecutor.executeWithUserLock(eq(userId), any()))
+        given(lockExecutor.executeWithUserLock(eq(userId), anyString(), anyLong(), any()))
                 .willAnswer(invocation -> {
-                    Supplier<?> task = invocation.getArgument(1);
-                    return task.get(); // 실제로 task 실행되도록
+                    UserLockTask<?> task = invocation.getArgument(3);
+                    return task.execute(userId, invocation.getArgument(2)); // 실제로 task 실행되도록
                 });
     }
 
     @Test
-    @DisplayName("PointHistory 에 존재하지 않은 userId 로 조회할 시 예외가 발생한다.")
+    @DisplayName("등록되지 않은 userId 로 조회할 시 예외가 발생한다.")
     void 유효하지_않은_userId로_조회시_예외발생() {
         // given
         long invalidUserId = 99L;
-        given(pointHistoryTable.selectAllByUserId(invalidUserId))
-                .willReturn(List.of());
+        given(userRegistry.contains(invalidUserId))
+                .willReturn(false);
 
         // when
         RuntimeException exception = assertThrows(
@@ -62,7 +74,7 @@ public class PointServiceTest {
         );
         // then
         assertEquals("사용자 포인트 정보가 존재하지 않습니다.", exception.getMessage());
-        verify(userPointTable, never()).selectById(anyLong());
+        verify(userPointRepository, never()).findById(anyLong());
     }
 
 
@@ -73,13 +85,13 @@ public class PointServiceTest {
         long userId = 1L;
         long amount = 50_000L;
         long currentPoint = 950_000L; // currentPoint + amount = 1_000_000
-        given(pointHistoryTable.selectAllByUserId(userId))
-                .willReturn(List.of(createPointHistory()));
+        given(userRegistry.contains(userId))
+                .willReturn(true);
 
-        given(userPointTable.selectById(userId))
-                .willReturn(new UserPoint(userId, currentPoint, System.currentTimeMillis()));
+        given(userPointRepository.findPointById(userId))
+                .willReturn(currentPoint);
 
-        given(userPointTable.insertOrUpdate(userId, 1_000_000L))
+        given(userPointRepository.save(userId, 1_000_000L))
                 .willReturn(new UserPoint(userId, 1_000_000L, System.currentTimeMillis()));
 
         ignoringUserLock(userId);
@@ -100,13 +112,13 @@ public class PointServiceTest {
         long amount = 100L;
         long chargePoint = 200L;
 
-        given(pointHistoryTable.selectAllByUserId(userId))
-                .willReturn(List.of(createPointHistory()));
+        given(userRegistry.contains(userId))
+                .willReturn(true);
 
-        given(userPointTable.selectById(userId))
-                .willReturn(new UserPoint(userId, chargePoint, System.currentTimeMillis()));
+        given(userPointRepository.findPointById(userId))
+                .willReturn(chargePoint);
 
-        given(userPointTable.insertOrUpdate(userId, amount+chargePoint))
+        given(userPointRepository.save(userId, amount+chargePoint))
                 .willReturn(new UserPoint(userId, amount+chargePoint, System.currentTimeMillis()));
 
         ignoringUserLock(userId);
@@ -126,13 +138,13 @@ public class PointServiceTest {
         // given
         long userId = 1L;
         long amount = 10L;
-        given(pointHistoryTable.selectAllByUserId(userId))
-                .willReturn(List.of(createPointHistory()));
+        given(userRegistry.contains(userId))
+                .willReturn(true);
 
-        given(userPointTable.selectById(userId))
-                .willReturn(new UserPoint(userId, 0L, System.currentTimeMillis()));
+        given(userPointRepository.findPointById(userId))
+                .willReturn(0L);
 
-        given(userPointTable.insertOrUpdate(userId, 10L))
+        given(userPointRepository.save(userId, 10L))
                 .willReturn(new UserPoint(userId, 10L, System.currentTimeMillis()));
 
         ignoringUserLock(userId);
@@ -141,7 +153,7 @@ public class PointServiceTest {
 
         // then
         assertEquals(10L, userPoint.point());
-        verify(pointHistoryTable).insert(eq(userId), eq(amount), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryRepository).insert(eq(userId), eq(amount), eq(TransactionType.CHARGE), anyLong());
     }
 
 
@@ -154,13 +166,13 @@ public class PointServiceTest {
         long userId = 1L;
         long amount = 300L;
         long usePoint = 100L;
-        given(pointHistoryTable.selectAllByUserId(userId))
-                .willReturn(List.of(createPointHistory()));
+        given(userRegistry.contains(userId))
+                .willReturn(true);
 
-        given(userPointTable.selectById(userId))
-                .willReturn(new UserPoint(userId, amount, System.currentTimeMillis()));
+        given(userPointRepository.findPointById(userId))
+                .willReturn(amount);
 
-        given(userPointTable.insertOrUpdate(userId, amount-usePoint))
+        given(userPointRepository.save(userId, amount-usePoint))
                 .willReturn(new UserPoint(userId, amount-usePoint, System.currentTimeMillis()));
 
         ignoringUserLock(userId);
@@ -183,13 +195,13 @@ public class PointServiceTest {
         long usePoint = 70L;
 
 
-        given(pointHistoryTable.selectAllByUserId(userId))
-                .willReturn(List.of(createPointHistory()));
+        given(userRegistry.contains(userId))
+                .willReturn(true);
 
-        given(userPointTable.selectById(userId))
-                .willReturn(new UserPoint(userId, amount, System.currentTimeMillis()));
+        given(userPointRepository.findPointById(userId))
+                .willReturn(amount);
 
-        given(userPointTable.insertOrUpdate(userId, amount - usePoint))
+        given(userPointRepository.save(userId, amount - usePoint))
                 .willReturn(new UserPoint(userId, amount - usePoint, System.currentTimeMillis()));
 
         ignoringUserLock(userId);
@@ -1,15 +1,18 @@
 package io.hhplus.tdd.point;
 
-
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class PointValidatorTest {
 
-    private final PointValidator pointValidator = new PointValidator();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PointValidator pointValidator = new PointValidator(meterRegistry);
 
     private final long MAXIMUM_POINT = PointPolicy.MAXIMUM_POINT.getAmount();
 
@@ -40,4 +43,38 @@ public class PointValidatorTest {
         );
         assertEquals("보유 포인트를 초과하여 사용할 수 없습니다.", exception.getMessage());
     }
+
+    @Test
+    @DisplayName("유효성 검증에 실패하면 규칙별 거절 횟수가 증가한다.")
+    void 검증_실패_시_거절_횟수_증가() {
+        // given
+        long amount = MAXIMUM_POINT + 100L;
+
+        // when
+        assertThrows(RuntimeException.class, () -> pointValidator.validatedChargePoint(amount));
+        assertThrows(RuntimeException.class, () -> pointValidator.validatedUsePoint(amount));
+        assertThrows(RuntimeException.class, () -> pointValidator.validatedUsePoint(-1L));
+
+        // then
+        assertEquals(1.0, meterRegistry.get("point.validation.rejections").tag("rule", "charge_maximum").counter().count());
+        assertEquals(2.0, meterRegistry.get("point.validation.rejections").tag("rule", "use_range").counter().count());
+    }
+
+    @Test
+    @DisplayName("검증 실패 시 오류 코드를 가진 예외를 stack trace 없이 던지고, 같은 인스턴스를 재사용한다.")
+    void 검증_실패_시_오류_코드_예외() {
+        // given
+        long amount = MAXIMUM_POINT + 100L;
+
+        // when
+        PointException first = assertThrows(PointException.class, () -> pointValidator.validatedChargePoint(amount));
+        PointException second = assertThrows(PointException.class, () -> pointValidator.validatedChargePoint(amount));
+        PointException useException = assertThrows(PointException.class, () -> pointValidator.validatedUsePoint(-1L));
+
+        // then
+        assertEquals(PointErrorCode.POINT_LIMIT_EXCEEDED, first.getErrorCode());
+        assertEquals(PointErrorCode.INSUFFICIENT_POINT, useException.getErrorCode());
+        assertSame(first, second);
+        assertEquals(0, first.getStackTrace().length);
+    }
 }
@@ -0,0 +1,160 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.BalanceCacheProperties;
+import io.hhplus.tdd.database.BalanceStoreProperties;
+import io.hhplus.tdd.database.PointHistoryProperties;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ShardedPointEngineTest {
+
+    private PointHistoryRepository pointHistoryRepository;
+    private UserPointRepository userPointRepository;
+    private ShardedPointEngine shardedPointEngine;
+
+    @BeforeEach
+    void setUp() {
+        UserRegistry userRegistry = new UserRegistry();
+        pointHistoryRepository = new PointHistoryRepository(
+                new PointHistoryTable(),
+                userRegistry,
+                new PointHistoryProperties(PointHistoryProperties.WriteBehind.disabled(), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+                new SimpleMeterRegistry()
+        );
+        userPointRepository = new UserPointRepository(new UserPointTable(), new BalanceCacheProperties(true, 100), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+        shardedPointEngine = new ShardedPointEngine(
+                pointHistoryRepository,
+                userPointRepository,
+                new PointValidator(),
+                userRegistry,
+                new ShardedProperties(4, 64)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardedPointEngine.close();
+    }
+
+    @Test
+    @DisplayName("여러 사용자에게 동시에 들어온 충전 요청이 shard 스레드에서 모두 반영된다.")
+    void 여러_사용자_동시_충전_요청_모두_반영() throws InterruptedException {
+        // given
+        int userCount = 8;
+        long amount = 100L;
+        for (long userId = 1; userId <= userCount; userId++) {
+            pointHistoryRepository.insert(userId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        }
+
+        int requestCount = 10;
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(userCount * requestCount);
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            for (long userId = 1; userId <= userCount; userId++) {
+                long targetUserId = userId;
+                executorService.submit(() -> {
+                    try {
+                        shardedPointEngine.charge(targetUserId, amount);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+        }
+        latch.await();
+
+        // then
+        for (long userId = 1; userId <= userCount; userId++) {
+            assertThat(userPointRepository.findById(userId).point()).isEqualTo(amount * requestCount);
+            assertThat(pointHistoryRepository.findAllByUserId(userId)).hasSize(requestCount + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("보유 포인트를 초과하는 사용 요청은 반영되지 않고 요청 스레드에 예외가 전달된다.")
+    void 보유_포인트_초과_사용_예외() {
+        // given
+        long userId = 1L;
+        pointHistoryRepository.insert(userId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        shardedPointEngine.charge(userId, 100L);
+
+        // when
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> shardedPointEngine.use(userId, 101L)
+        );
+
+        // then
+        assertThat(exception.getMessage()).isEqualTo("보유 포인트를 초과하여 사용할 수 없습니다.");
+        assertThat(shardedPointEngine.use(userId, 100L).point()).isZero();
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 사용자의 요청은 예외가 발생한다.")
+    void 등록되지_않은_사용자_예외() {
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> shardedPointEngine.use(99L, 100L)
+        );
+
+        assertThat(exception.getMessage()).isEqualTo("사용자 포인트 정보가 존재하지 않습니다.");
+    }
+
+    @Test
+    @DisplayName("종료와 동시에 들어온 요청은 처리되거나 실패로 응답하며, 기다리는 요청 스레드가 남지 않는다.")
+    void 종료중_요청_대기_없음() throws InterruptedException {
+        // given
+        long userId = 1L;
+        pointHistoryRepository.insert(userId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        int requestCount = 32;
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch started = new CountDownLatch(8);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                started.countDown();
+                try {
+                    shardedPointEngine.charge(userId, 1L);
+                    succeeded.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        started.await();
+        shardedPointEngine.close();
+
+        // then
+        assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+        executorService.shutdown();
+        assertThat(succeeded.get() + rejected.get()).isEqualTo(requestCount);
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(succeeded.get());
+        assertThat(pointHistoryRepository.findAllByUserId(userId)).hasSize(succeeded.get() + 1);
+        assertThrows(IllegalStateException.class, () -> shardedPointEngine.charge(userId, 1L));
+    }
+}
@@ -0,0 +1,221 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.concurrent.LockExecutor;
+import io.hhplus.tdd.concurrent.MapLockStrategy;
+import io.hhplus.tdd.database.BalanceCacheProperties;
+import io.hhplus.tdd.database.BalanceStoreProperties;
+import io.hhplus.tdd.database.PointHistoryProperties;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedPointEngineTest {
+
+    private final long MAXIMUM_POINT = PointPolicy.MAXIMUM_POINT.getAmount();
+    private final long stripedUserId = 1L;
+
+    private UserRegistry userRegistry;
+    private PointHistoryRepository pointHistoryRepository;
+    private UserPointRepository userPointRepository;
+    private StripedPointEngine stripedPointEngine;
+
+    @BeforeEach
+    void setUp() {
+        userRegistry = new UserRegistry();
+        // 한 사용자의 내역은 순서대로 하나씩 저장되므로, 테이블 지연을 기다리지 않도록 write-behind 로 저장합니다.
+        pointHistoryRepository = new PointHistoryRepository(
+                new PointHistoryTable(),
+                userRegistry,
+                new PointHistoryProperties(new PointHistoryProperties.WriteBehind(true, 10000, 256, 100), PointHistoryProperties.Journal.disabled(), PointHistoryProperties.Columnar.disabled()),
+                new SimpleMeterRegistry()
+        );
+        userPointRepository = new UserPointRepository(new UserPointTable(), new BalanceCacheProperties(true, 100), BalanceStoreProperties.table(), new SimpleMeterRegistry());
+        stripedPointEngine = new StripedPointEngine(
+                pointHistoryRepository,
+                userPointRepository,
+                new LockExecutor(new MapLockStrategy()),
+                new PointValidator(),
+                userRegistry,
+                new HotAccountDetector(HotAccountProperties.disabled()),
+                new StripedBalanceProperties(4, Set.of(stripedUserId), false, 0L)
+        );
+    }
+
+    private int runConcurrently(int threadCount, int requestCount, Runnable request) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger successCount = new AtomicInteger();
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < requestCount; j++) {
+                        try {
+                            request.run();
+                            successCount.getAndIncrement();
+                        } catch (RuntimeException ignored) {
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+        return successCount.get();
+    }
+
+    @Test
+    @DisplayName("잔액을 나눈 사용자에게 동시에 충전해도 합계는 최대값을 정확히 넘지 않고, 넘는 요청만 실패한다.")
+    void 동시_충전시_최대값_정확히_적용() throws InterruptedException {
+        // given
+        pointHistoryRepository.insert(stripedUserId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        long amount = 1_000L;
+
+        // when
+        int successCount = runConcurrently(8, 200, () -> stripedPointEngine.charge(stripedUserId, amount));
+
+        // then
+        assertThat(successCount).isEqualTo(MAXIMUM_POINT / amount);
+        assertThat(stripedPointEngine.findUserPoint(stripedUserId).point()).isEqualTo(MAXIMUM_POINT);
+        assertThat(pointHistoryRepository.findAllByUserId(stripedUserId)).hasSize(successCount + 1);
+    }
+
+    @Test
+    @DisplayName("잔액을 나눈 사용자에게 동시에 사용해도 합계는 0 아래로 내려가지 않고, 부족한 요청만 실패한다.")
+    void 동시_사용시_0_정확히_적용() throws InterruptedException {
+        // given
+        long balance = 10_000L;
+        userPointRepository.save(stripedUserId, balance);
+        pointHistoryRepository.insert(stripedUserId, balance, TransactionType.CHARGE, System.currentTimeMillis());
+        long amount = 30L;
+
+        // when
+        int successCount = runConcurrently(8, 100, () -> stripedPointEngine.use(stripedUserId, amount));
+
+        // then
+        assertThat(successCount).isEqualTo(balance / amount);
+        assertThat(stripedPointEngine.findUserPoint(stripedUserId).point()).isEqualTo(balance % amount);
+    }
+
+    @Test
+    @DisplayName("잔액을 나누지 않는 사용자는 UserPointRepository 에 저장되고, 엔진이 관리하는 잔액이 없다.")
+    void 대상이_아닌_사용자는_저장소에_반영() {
+        // given
+        long userId = 2L;
+        pointHistoryRepository.insert(userId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when
+        stripedPointEngine.charge(userId, 100L);
+        stripedPointEngine.use(userId, 40L);
+
+        // then
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(60L);
+        assertThat(stripedPointEngine.findUserPoint(userId)).isNull();
+    }
+
+    @Test
+    @DisplayName("잔액을 나눈 사용자에게 동시에 충전/사용해도 내역은 id 순서대로 저장되어 cursor 로 빠짐없이 조회되고, 누적 잔액이 범위를 벗어나지 않는다.")
+    void 동시_요청_내역_순서대로_페이지_조회() throws InterruptedException {
+        // given
+        long balance = 10_000L;
+        userPointRepository.save(stripedUserId, balance);
+        pointHistoryRepository.insert(stripedUserId, balance, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when
+        int successCount = runConcurrently(8, 200, () -> {
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                stripedPointEngine.charge(stripedUserId, 70L);
+            } else {
+                stripedPointEngine.use(stripedUserId, 100L);
+            }
+        });
+
+        // then
+        List<PointHistory> histories = new ArrayList<>();
+        long afterId = 0L;
+        for (List<PointHistory> page = findPage(afterId); !page.isEmpty(); page = findPage(afterId)) {
+            histories.addAll(page);
+            afterId = page.get(page.size() - 1).id();
+        }
+        assertThat(histories).hasSize(successCount + 1);
+        assertThat(histories).extracting(PointHistory::id).isSorted().doesNotHaveDuplicates();
+
+        long point = 0L;
+        for (PointHistory history : histories) {
+            point += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+            assertThat(point).isBetween(0L, MAXIMUM_POINT);
+        }
+        assertThat(stripedPointEngine.findUserPoint(stripedUserId).point()).isEqualTo(point);
+    }
+
+    private List<PointHistory> findPage(long afterId) {
+        return pointHistoryRepository.findByUserId(stripedUserId, new PointHistoryQuery(afterId, 50, null, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("잔액을 나눈 사용자의 합계는 persist 주기에 UserPointRepository 에 저장된다.")
+    void 나눈_잔액_합계_저장() throws InterruptedException {
+        // given
+        pointHistoryRepository.insert(stripedUserId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        int successCount = runConcurrently(8, 50, () -> stripedPointEngine.charge(stripedUserId, 10L));
+
+        // when
+        stripedPointEngine.persistStripedBalances();
+
+        // then
+        assertThat(userPointRepository.findById(stripedUserId).point()).isEqualTo(successCount * 10L);
+    }
+
+    @Test
+    @DisplayName("hot 에서 빠진 사용자는 잔액 나누기를 해제하고, 이후 요청은 저장된 합계를 기준으로 반영된다.")
+    void hot_에서_빠지면_잔액_나누기_해제() throws InterruptedException {
+        // given
+        long userId = 2L;
+        HotAccountDetector hotAccountDetector = new HotAccountDetector(new HotAccountProperties(true, 100, 10, 32, 1_024));
+        StripedPointEngine hotStripedPointEngine = new StripedPointEngine(
+                pointHistoryRepository,
+                userPointRepository,
+                new LockExecutor(new MapLockStrategy()),
+                new PointValidator(),
+                userRegistry,
+                hotAccountDetector,
+                new StripedBalanceProperties(4, Set.of(), true, 0L)
+        );
+        pointHistoryRepository.insert(userId, 0L, TransactionType.CHARGE, System.currentTimeMillis());
+        for (int i = 0; i < 100; i++) {
+            hotAccountDetector.record(userId);
+        }
+        hotStripedPointEngine.charge(userId, 100L);
+        assertThat(hotStripedPointEngine.findUserPoint(userId).point()).isEqualTo(100L);
+
+        // when
+        for (int window = 0; window < 3; window++) {
+            Thread.sleep(20);
+            hotAccountDetector.record(3L);
+        }
+        hotStripedPointEngine.persistStripedBalances();
+
+        // then
+        assertThat(hotStripedPointEngine.findUserPoint(userId)).isNull();
+        assertThat(userPointRepository.findById(userId).point()).isEqualTo(100L);
+        assertThat(hotStripedPointEngine.use(userId, 30L).point()).isEqualTo(70L);
+    }
+}